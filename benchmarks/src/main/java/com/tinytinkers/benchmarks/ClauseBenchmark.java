@@ -0,0 +1,55 @@
+package com.tinytinkers.benchmarks;
+
+import com.tinytinkers.Condition;
+import com.tinytinkers.DynamicQueryBuilder;
+import com.tinytinkers.enums.Order;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ClauseBenchmark {
+
+    private static final LocalDateTime START = LocalDateTime.of(2024, 3, 20, 12, 0);
+    private static final LocalDateTime END = START.plusDays(7);
+
+    private final Map<String, Condition<?>> conditions = Map.of(
+            "id", Condition.greaterThan(100),
+            "name", Condition.anyLike("John")
+    );
+
+    @Benchmark
+    public String betweenDateTime() {
+        return DynamicQueryBuilder.of()
+                .selectFrom("events")
+                .where(Map.of("created_at", Condition.between(START, END)))
+                .buildToString();
+    }
+
+    @Benchmark
+    public String distinct() {
+        return DynamicQueryBuilder.of()
+                .selectSpecificColumnsFrom("users", "name", "email")
+                .distinct()
+                .where(conditions)
+                .buildToString();
+    }
+
+    @Benchmark
+    public String buildPrettyString() {
+        return DynamicQueryBuilder.of()
+                .selectFrom("users")
+                .where(conditions)
+                .orderBy("name", Order.ASCENDING)
+                .limit(20)
+                .buildPrettyString();
+    }
+
+}
@@ -0,0 +1,38 @@
+package com.tinytinkers.benchmarks;
+
+import com.tinytinkers.Condition;
+import com.tinytinkers.DynamicQueryBuilder;
+import com.tinytinkers.enums.JoinType;
+import com.tinytinkers.enums.Order;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(Threads.MAX)
+public class ConcurrentBuildBenchmark {
+
+    private final Map<String, Condition<?>> conditions = Map.of(
+            "tenant_id", Condition.equal(42),
+            "status", Condition.equal("ACTIVE"),
+            "created_at", Condition.greaterThan(20240101)
+    );
+
+    @Benchmark
+    public String buildConcurrently() {
+        return DynamicQueryBuilder.of()
+                .selectSpecificColumnsFrom("orders", "id", "status", "total")
+                .join(JoinType.INNER, "customers", "orders.customer_id = customers.id")
+                .where(conditions)
+                .orderBy("id", Order.DESCENDING)
+                .limit(50)
+                .buildToString();
+    }
+
+}
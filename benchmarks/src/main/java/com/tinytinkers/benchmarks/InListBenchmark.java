@@ -0,0 +1,48 @@
+package com.tinytinkers.benchmarks;
+
+import com.tinytinkers.Condition;
+import com.tinytinkers.DynamicQueryBuilder;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InListBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    private int size;
+
+    private List<Integer> ids;
+    private long[] primitiveIds;
+
+    @Setup
+    public void setUp() {
+        ids = IntStream.range(0, size).boxed().toList();
+        primitiveIds = IntStream.range(0, size).asLongStream().toArray();
+    }
+
+    @Benchmark
+    public String inList() {
+        return DynamicQueryBuilder.of()
+                .selectFrom("users")
+                .where(Map.of("id", Condition.in(ids)))
+                .buildToString();
+    }
+
+    @Benchmark
+    public String inLongs() {
+        return DynamicQueryBuilder.of()
+                .selectFrom("users")
+                .where(Map.of("id", Condition.inLongs(primitiveIds)))
+                .buildToString();
+    }
+
+}
@@ -0,0 +1,40 @@
+package com.tinytinkers.benchmarks;
+
+import com.tinytinkers.Condition;
+import com.tinytinkers.DynamicQueryBuilder;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WhereBenchmark {
+
+    @Param({"1", "10", "100"})
+    private int conditionCount;
+
+    private Map<String, Condition<?>> conditions;
+
+    @Setup
+    public void setUp() {
+        conditions = new LinkedHashMap<>();
+        for (int i = 0; i < conditionCount; i++) {
+            conditions.put("column_" + i, i % 2 == 0 ? Condition.equal(i) : Condition.beginLike("value_" + i));
+        }
+    }
+
+    @Benchmark
+    public String selectFromWhere() {
+        return DynamicQueryBuilder.of()
+                .selectFrom("users")
+                .where(conditions)
+                .buildToString();
+    }
+
+}
@@ -0,0 +1,70 @@
+package com.tinytinkers;
+
+import com.tinytinkers.enums.BuildOperation;
+import com.tinytinkers.metrics.QueryBuildEvent;
+import com.tinytinkers.metrics.QueryBuildSample;
+import com.tinytinkers.metrics.QueryMetrics;
+
+final class BuildTelemetry {
+
+    private BuildTelemetry() { }
+
+    static long start() {
+        return QueryMetrics.installed() != null ? System.nanoTime() : 0L;
+    }
+
+    static void record(QueryBuildEvent event, long started, BuildOperation operation, QueryModel model, int renderedLength) {
+        long duration = started != 0L ? System.nanoTime() - started : 0L;
+        event.end();
+        QueryMetrics metrics = QueryMetrics.installed();
+        boolean commit = event.shouldCommit();
+        if (!commit && metrics == null) {
+            return;
+        }
+
+        ConditionCounts counts = new ConditionCounts();
+        for (QueryModel.Predicate predicate : model.predicates) {
+            switch (predicate) {
+                case QueryModel.ColumnPredicate column -> counts.add(column.condition());
+                case QueryModel.FilterPredicate filter -> counts.add(filter.filter());
+                default -> counts.conditions++;
+            }
+        }
+        QueryBuildSample sample = new QueryBuildSample(SqlRenderer.fingerprint(model), operation, duration,
+                counts.conditions, counts.inListValues, counts.largestInList, renderedLength);
+
+        if (commit) {
+            event.describe(sample);
+            event.commit();
+        }
+        if (metrics != null) {
+            metrics.record(sample);
+        }
+    }
+
+    private static final class ConditionCounts {
+
+        private int conditions;
+        private int inListValues;
+        private int largestInList;
+
+        private void add(Filter filter) {
+            switch (filter) {
+                case Filter.Match match -> add(match.condition());
+                case Filter.All all -> all.filters().forEach(this::add);
+                case Filter.Any any -> any.filters().forEach(this::add);
+            }
+        }
+
+        private void add(Condition<?> condition) {
+            conditions++;
+            int size = QueryModel.inListSize(condition.value());
+            if (size > 0) {
+                inListValues += size;
+                largestInList = Math.max(largestInList, size);
+            }
+        }
+
+    }
+
+}
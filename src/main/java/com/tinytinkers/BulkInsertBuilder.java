@@ -0,0 +1,437 @@
+package com.tinytinkers;
+
+import com.tinytinkers.codec.ValueCodecs;
+import com.tinytinkers.enums.PlaceholderStyle;
+import com.tinytinkers.structures.ColumnarTable;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.RecordComponent;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import static com.tinytinkers.constants.Keywords.*;
+
+/**
+ * Renders multi-row {@code INSERT ... VALUES (...),(...)} statements, split so that no statement exceeds the row,
+ * byte or bind parameter budget. A single row larger than the byte budget is emitted on its own.
+ * <p>
+ * Literal statements format values with the same sanitization and codecs as query literals, so text containing
+ * {@code ;} is truncated; prepared statements pass values through unchanged.
+ */
+public class BulkInsertBuilder {
+
+    private static final int DEFAULT_MAX_ROWS = 1000;
+    private static final int DEFAULT_MAX_BYTES = 1 << 20;
+    private static final int DEFAULT_MAX_BINDS = 65535;
+
+    private final String table;
+    private final List<String> columns = new ArrayList<>();
+    private final List<Segment> segments = new ArrayList<>();
+    private final Map<Class<?>, MethodHandle[]> recordAccessors = new HashMap<>();
+    private int maxRows = DEFAULT_MAX_ROWS;
+    private int maxBytes = DEFAULT_MAX_BYTES;
+    private int maxBinds = DEFAULT_MAX_BINDS;
+    private ValueCodecs codecs = ValueCodecs.defaults();
+    private String upsertClause = "";
+
+    private BulkInsertBuilder(String table) {
+        this.table = table;
+    }
+
+    public static BulkInsertBuilder into(String table, String... columns) {
+        if (table == null || table.isBlank()) {
+            throw new IllegalArgumentException("Table name cannot be null or blank");
+        }
+        BulkInsertBuilder builder = new BulkInsertBuilder(Sanitizer.sanitizeIdentifier(table));
+        if (columns != null) {
+            for (String column : columns) {
+                builder.addColumn(column);
+            }
+        }
+        return builder;
+    }
+
+    public BulkInsertBuilder maxRowsPerStatement(int maxRows) {
+        if (maxRows <= 0) {
+            throw new IllegalArgumentException("Maximum rows must be greater than zero");
+        }
+        this.maxRows = maxRows;
+        return this;
+    }
+
+    public BulkInsertBuilder maxBytesPerStatement(int maxBytes) {
+        if (maxBytes <= 0) {
+            throw new IllegalArgumentException("Maximum bytes must be greater than zero");
+        }
+        this.maxBytes = maxBytes;
+        return this;
+    }
+
+    public BulkInsertBuilder maxBindsPerStatement(int maxBinds) {
+        if (maxBinds <= 0) {
+            throw new IllegalArgumentException("Maximum binds must be greater than zero");
+        }
+        this.maxBinds = maxBinds;
+        return this;
+    }
+
+    public BulkInsertBuilder codecs(ValueCodecs codecs) {
+        if (codecs == null) {
+            throw new IllegalArgumentException("Codecs cannot be null");
+        }
+        this.codecs = codecs;
+        return this;
+    }
+
+    public BulkInsertBuilder onConflictDoNothing(String... conflictColumns) {
+        StringBuilder clause = new StringBuilder(ON_CONFLICT);
+        appendConflictTarget(clause, conflictColumns == null ? List.of() : List.of(conflictColumns));
+        upsertClause = clause.append(DO_NOTHING).toString();
+        return this;
+    }
+
+    public BulkInsertBuilder onConflictUpdate(List<String> conflictColumns, String... updateColumns) {
+        if (conflictColumns == null || conflictColumns.isEmpty()) {
+            throw new IllegalArgumentException("Conflict columns cannot be null or empty");
+        }
+        StringBuilder clause = new StringBuilder(ON_CONFLICT);
+        appendConflictTarget(clause, conflictColumns);
+        clause.append(DO_UPDATE_SET);
+        appendAssignments(clause, updateColumns, "EXCLUDED.", "");
+        upsertClause = clause.toString();
+        return this;
+    }
+
+    public BulkInsertBuilder onDuplicateKeyUpdate(String... updateColumns) {
+        StringBuilder clause = new StringBuilder(ON_DUPLICATE_KEY_UPDATE);
+        appendAssignments(clause, updateColumns, "VALUES(", ")");
+        upsertClause = clause.toString();
+        return this;
+    }
+
+    public BulkInsertBuilder addRow(Map<String, ?> row) {
+        if (row == null || row.isEmpty()) {
+            throw new IllegalArgumentException("Row cannot be null or empty");
+        }
+        return addRows(List.of(row));
+    }
+
+    public BulkInsertBuilder addRows(Collection<? extends Map<String, ?>> rows) {
+        if (rows == null) {
+            throw new IllegalArgumentException("Rows cannot be null");
+        }
+        List<Object[]> values = new ArrayList<>(rows.size());
+        for (Map<String, ?> row : rows) {
+            if (columns.isEmpty()) {
+                row.keySet().forEach(this::addColumn);
+            }
+            Object[] ordered = new Object[columns.size()];
+            int matched = 0;
+            for (int i = 0; i < ordered.length; i++) {
+                String column = columns.get(i);
+                if (row.containsKey(column)) {
+                    ordered[i] = row.get(column);
+                    matched++;
+                }
+            }
+            if (matched != row.size()) {
+                throw new IllegalArgumentException("Row has columns outside %s: %s".formatted(columns, row.keySet()));
+            }
+            values.add(ordered);
+        }
+        segments.add(new RowSegment(values));
+        return this;
+    }
+
+    public BulkInsertBuilder addRecords(Collection<? extends Record> records) {
+        if (records == null) {
+            throw new IllegalArgumentException("Records cannot be null");
+        }
+        List<Object[]> values = new ArrayList<>(records.size());
+        for (Record record : records) {
+            MethodHandle[] accessors = recordAccessors.computeIfAbsent(record.getClass(), this::accessors);
+            Object[] ordered = new Object[accessors.length];
+            for (int i = 0; i < ordered.length; i++) {
+                try {
+                    ordered[i] = (Object) accessors[i].invokeExact((Object) record);
+                } catch (RuntimeException | Error e) {
+                    throw e;
+                } catch (Throwable e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+            values.add(ordered);
+        }
+        segments.add(new RowSegment(values));
+        return this;
+    }
+
+    public BulkInsertBuilder addColumns(ColumnarTable table) {
+        if (table == null) {
+            throw new IllegalArgumentException("Table cannot be null");
+        }
+        if (columns.isEmpty()) {
+            table.columnNames().stream().sorted().forEach(this::addColumn);
+        }
+        Object[] arrays = new Object[columns.size()];
+        for (int i = 0; i < arrays.length; i++) {
+            arrays[i] = table.column(columns.get(i));
+            if (arrays[i] == null) {
+                throw new IllegalArgumentException("Columnar table has no column " + columns.get(i));
+            }
+        }
+        segments.add(new ColumnarSegment(table.rowCount(), arrays));
+        return this;
+    }
+
+    public List<String> buildStatements() {
+        List<String> statements = new ArrayList<>();
+        render(statements, null, null);
+        return statements;
+    }
+
+    public List<PreparedQuery> buildPrepared() {
+        return buildPrepared(PlaceholderStyle.QUESTION_MARK);
+    }
+
+    public List<PreparedQuery> buildPrepared(PlaceholderStyle placeholderStyle) {
+        if (placeholderStyle == null) {
+            throw new IllegalArgumentException("Placeholder style cannot be null");
+        }
+        List<PreparedQuery> statements = new ArrayList<>();
+        render(null, statements, placeholderStyle);
+        return statements;
+    }
+
+    private void render(List<String> literal, List<PreparedQuery> prepared, PlaceholderStyle placeholderStyle) {
+        if (columns.isEmpty()) {
+            throw new IllegalStateException("Insert has no columns");
+        }
+        String prefix = header();
+        int fixedBytes = utf8Length(prefix) + utf8Length(upsertClause) + 1;
+        int rowsPerStatement = prepared == null ? maxRows : Math.max(1, Math.min(maxRows, maxBinds / columns.size()));
+
+        StringBuilder sql = new StringBuilder(prefix);
+        StringBuilder tuple = new StringBuilder(columns.size() * 8);
+        List<Object> binds = new ArrayList<>();
+        int rows = 0;
+        int bytes = fixedBytes;
+
+        for (Segment segment : segments) {
+            for (int row = 0; row < segment.size(); row++) {
+                int mark = binds.size();
+                appendTuple(segment, row, tuple, prepared == null ? null : binds, placeholderStyle);
+                int tupleBytes = utf8Length(tuple) + 1;
+                if (rows > 0 && (rows == rowsPerStatement || bytes + tupleBytes > maxBytes)) {
+                    binds.subList(mark, binds.size()).clear();
+                    flush(sql, binds, literal, prepared);
+                    sql.setLength(0);
+                    sql.append(prefix);
+                    binds = new ArrayList<>();
+                    rows = 0;
+                    bytes = fixedBytes;
+                    appendTuple(segment, row, tuple, prepared == null ? null : binds, placeholderStyle);
+                    tupleBytes = utf8Length(tuple) + 1;
+                }
+                if (rows > 0) {
+                    sql.append(',');
+                }
+                sql.append(tuple);
+                rows++;
+                bytes += tupleBytes;
+            }
+        }
+        if (rows > 0) {
+            flush(sql, binds, literal, prepared);
+        }
+    }
+
+    private void appendTuple(Segment segment, int row, StringBuilder tuple, List<Object> binds,
+                             PlaceholderStyle placeholderStyle) {
+        tuple.setLength(0);
+        tuple.append('(');
+        for (int column = 0; column < columns.size(); column++) {
+            if (column > 0) {
+                tuple.append(',');
+            }
+            if (binds == null) {
+                segment.appendLiteral(row, column, tuple, codecs);
+                continue;
+            }
+            binds.add(SqlRenderer.bindValue(segment.value(row, column), codecs));
+            tuple.append(placeholderStyle.getCode());
+            if (placeholderStyle == PlaceholderStyle.NUMBERED) {
+                tuple.append(binds.size());
+            }
+        }
+        tuple.append(')');
+    }
+
+    private void flush(StringBuilder sql, List<Object> binds, List<String> literal, List<PreparedQuery> prepared) {
+        sql.append(upsertClause);
+        if (prepared == null) {
+            literal.add(sql.append(';').toString());
+        } else {
+            prepared.add(new PreparedQuery(sql.toString(), binds));
+        }
+    }
+
+    private String header() {
+        StringBuilder header = new StringBuilder(INSERT_INTO).append(table).append(" (");
+        for (int i = 0; i < columns.size(); i++) {
+            if (i > 0) {
+                header.append(',');
+            }
+            header.append(columns.get(i));
+        }
+        return header.append(')').append(VALUES).toString();
+    }
+
+    private void addColumn(String column) {
+        String sanitized = Sanitizer.sanitizeIdentifier(column);
+        if (sanitized.isBlank()) {
+            throw new IllegalArgumentException("Column name cannot be null or blank");
+        }
+        if (columns.contains(sanitized)) {
+            throw new IllegalArgumentException("Duplicate column " + sanitized);
+        }
+        columns.add(sanitized);
+    }
+
+    private MethodHandle[] accessors(Class<?> type) {
+        RecordComponent[] components = type.getRecordComponents();
+        if (columns.isEmpty()) {
+            for (RecordComponent component : components) {
+                addColumn(component.getName().replaceAll("([a-z0-9])([A-Z])", "$1_$2").toLowerCase(Locale.ROOT));
+            }
+        }
+        MethodHandle[] accessors = new MethodHandle[columns.size()];
+        for (int i = 0; i < accessors.length; i++) {
+            String column = normalize(columns.get(i));
+            for (RecordComponent component : components) {
+                if (normalize(component.getName()).equals(column)) {
+                    try {
+                        accessors[i] = MethodHandles.privateLookupIn(type, MethodHandles.lookup())
+                                .unreflect(component.getAccessor())
+                                .asType(MethodType.methodType(Object.class, Object.class));
+                    } catch (IllegalAccessException e) {
+                        throw new IllegalArgumentException("Record %s is not accessible".formatted(type.getName()), e);
+                    }
+                }
+            }
+            if (accessors[i] == null) {
+                throw new IllegalArgumentException("Record %s has no component for column %s"
+                        .formatted(type.getSimpleName(), columns.get(i)));
+            }
+        }
+        return accessors;
+    }
+
+    private static String normalize(String name) {
+        return name.replace("_", "").toLowerCase(Locale.ROOT);
+    }
+
+    private static void appendConflictTarget(StringBuilder clause, List<String> conflictColumns) {
+        if (conflictColumns.isEmpty()) {
+            return;
+        }
+        clause.append(" (");
+        for (int i = 0; i < conflictColumns.size(); i++) {
+            if (i > 0) {
+                clause.append(',');
+            }
+            clause.append(Sanitizer.sanitizeIdentifier(conflictColumns.get(i)));
+        }
+        clause.append(')');
+    }
+
+    private static void appendAssignments(StringBuilder clause, String[] updateColumns, String open, String close) {
+        if (updateColumns == null || updateColumns.length == 0) {
+            throw new IllegalArgumentException("Update columns cannot be null or empty");
+        }
+        for (int i = 0; i < updateColumns.length; i++) {
+            String column = Sanitizer.sanitizeIdentifier(updateColumns[i]);
+            if (i > 0) {
+                clause.append(", ");
+            }
+            clause.append(column).append(" = ").append(open).append(column).append(close);
+        }
+    }
+
+    private static int utf8Length(CharSequence text) {
+        int length = text.length();
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c >= 0x80) {
+                if (c < 0x800) {
+                    length++;
+                } else if (Character.isHighSurrogate(c)) {
+                    length += 2;
+                    i++;
+                } else {
+                    length += 2;
+                }
+            }
+        }
+        return length;
+    }
+
+    private interface Segment {
+        int size();
+
+        Object value(int row, int column);
+
+        void appendLiteral(int row, int column, StringBuilder out, ValueCodecs codecs);
+    }
+
+    private record RowSegment(List<Object[]> rows) implements Segment {
+
+        @Override
+        public int size() {
+            return rows.size();
+        }
+
+        @Override
+        public Object value(int row, int column) {
+            return rows.get(row)[column];
+        }
+
+        @Override
+        public void appendLiteral(int row, int column, StringBuilder out, ValueCodecs codecs) {
+            SqlRenderer.appendLiteral(out, rows.get(row)[column], codecs);
+        }
+
+    }
+
+    private record ColumnarSegment(int size, Object[] arrays) implements Segment {
+
+        @Override
+        public Object value(int row, int column) {
+            return switch (arrays[column]) {
+                case int[] ints -> ints[row];
+                case long[] longs -> longs[row];
+                case double[] doubles -> doubles[row];
+                case Object[] objects -> objects[row];
+                default -> throw new IllegalStateException("Unsupported column type");
+            };
+        }
+
+        @Override
+        public void appendLiteral(int row, int column, StringBuilder out, ValueCodecs codecs) {
+            switch (arrays[column]) {
+                case int[] ints -> out.append(ints[row]);
+                case long[] longs -> out.append(longs[row]);
+                case double[] doubles when Double.isFinite(doubles[row]) -> out.append(doubles[row]);
+                default -> SqlRenderer.appendLiteral(out, value(row, column), codecs);
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,69 @@
+package com.tinytinkers;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+
+final class ByteBufferAppendable implements Appendable {
+
+    private static final int CHUNK_SIZE = 512;
+
+    private final ByteBuffer target;
+    private final CharsetEncoder encoder;
+    private final CharBuffer chunk = CharBuffer.allocate(CHUNK_SIZE);
+
+    ByteBufferAppendable(ByteBuffer target, Charset charset) {
+        this.target = target;
+        this.encoder = charset.newEncoder()
+                .onMalformedInput(CodingErrorAction.REPORT)
+                .onUnmappableCharacter(CodingErrorAction.REPORT);
+    }
+
+    @Override
+    public Appendable append(CharSequence csq) throws CharacterCodingException {
+        return append(csq, 0, csq.length());
+    }
+
+    @Override
+    public Appendable append(CharSequence csq, int start, int end) throws CharacterCodingException {
+        for (int i = start; i < end; i++) {
+            append(csq.charAt(i));
+        }
+        return this;
+    }
+
+    @Override
+    public Appendable append(char c) throws CharacterCodingException {
+        if (!chunk.hasRemaining()) {
+            encodeChunk(false);
+        }
+        chunk.put(c);
+        return this;
+    }
+
+    void finish() throws CharacterCodingException {
+        encodeChunk(true);
+        check(encoder.flush(target));
+    }
+
+    private void encodeChunk(boolean endOfInput) throws CharacterCodingException {
+        chunk.flip();
+        check(encoder.encode(chunk, target, endOfInput));
+        chunk.compact();
+    }
+
+    private static void check(CoderResult result) throws CharacterCodingException {
+        if (result.isOverflow()) {
+            throw new BufferOverflowException();
+        }
+        if (result.isError()) {
+            result.throwException();
+        }
+    }
+
+}
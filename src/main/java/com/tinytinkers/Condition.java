@@ -2,10 +2,10 @@ package com.tinytinkers;
 
 import com.tinytinkers.structures.Pair;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
-import static com.tinytinkers.constants.Keywords.UNSAFE_INPUT_PATTERN;
 import static com.tinytinkers.constants.Operators.*;
 
 public record Condition<T>(
@@ -17,7 +17,7 @@ public record Condition<T>(
     }
 
     public static Condition<String> anyLike(String value) {
-        var sanitizedInput = sanitizeInput(value);
+        var sanitizedInput = Sanitizer.stripUnsafe(value);
 
         return Optional.of(sanitizedInput)
                 .filter(s -> !s.isBlank())
@@ -26,7 +26,7 @@ public record Condition<T>(
     }
 
     public static Condition<String> beginLike(String value) {
-        var sanitizedInput = sanitizeInput(value);
+        var sanitizedInput = Sanitizer.stripUnsafe(value);
 
         return Optional.of(sanitizedInput)
                 .filter(s -> !s.isBlank())
@@ -35,7 +35,7 @@ public record Condition<T>(
     }
 
     public static Condition<String> endLike(String value) {
-        var sanitizedInput = sanitizeInput(value);
+        var sanitizedInput = Sanitizer.stripUnsafe(value);
 
         return Optional.of(sanitizedInput)
                 .filter(s -> !s.isBlank())
@@ -59,12 +59,20 @@ public record Condition<T>(
         return new Condition<>(IN, values);
     }
 
-    private static String sanitizeInput(String input) {
-        return Optional
-                .ofNullable(input)
-                .filter(i -> !i.isBlank())
-                .map(i -> UNSAFE_INPUT_PATTERN.matcher(input).replaceAll("").trim())
-                .orElse("");
+    public static Condition<int[]> inInts(int... values) {
+        return new Condition<>(IN, values);
+    }
+
+    public static Condition<long[]> inLongs(long... values) {
+        return new Condition<>(IN, values);
+    }
+
+    public static Condition<String[]> inStrings(String... values) {
+        return new Condition<>(IN, values);
+    }
+
+    public static Condition<String[]> inStrings(Collection<String> values) {
+        return new Condition<>(IN, values == null ? null : values.toArray(String[]::new));
     }
 
 }
\ No newline at end of file
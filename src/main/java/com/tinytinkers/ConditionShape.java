@@ -0,0 +1,51 @@
+package com.tinytinkers;
+
+import com.tinytinkers.enums.ConditionKind;
+import com.tinytinkers.structures.Pair;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+record ConditionShape(
+        String column,
+        String operator,
+        ConditionKind kind,
+        int arity
+) {
+    static ConditionShape of(String column, Condition<?> condition) {
+        return switch (condition.value()) {
+            case Pair<?, ?> ignored -> new ConditionShape(column, condition.operator(), ConditionKind.PAIR, 2);
+            default -> {
+                int size = QueryModel.inListSize(condition.value());
+                yield size < 0
+                        ? new ConditionShape(column, condition.operator(), ConditionKind.SCALAR, 1)
+                        : new ConditionShape(column, condition.operator(), ConditionKind.LIST, size);
+            }
+        };
+    }
+
+    static List<Map.Entry<String, Condition<?>>> sortedEntries(Map<String, Condition<?>> whereClauses) {
+        if (whereClauses == null || whereClauses.isEmpty()) {
+            return List.of();
+        }
+        List<Map.Entry<String, Condition<?>>> entries = new ArrayList<>(whereClauses.size());
+        for (Map.Entry<String, Condition<?>> entry : whereClauses.entrySet()) {
+            if (entry.getKey() != null && !entry.getKey().isBlank()
+                    && entry.getValue() != null && entry.getValue().value() != null) {
+                entries.add(entry);
+            }
+        }
+        entries.sort(Map.Entry.comparingByKey());
+        return entries;
+    }
+
+    static List<ConditionShape> shapesOf(List<Map.Entry<String, Condition<?>>> entries) {
+        List<ConditionShape> shapes = new ArrayList<>(entries.size());
+        for (Map.Entry<String, Condition<?>> entry : entries) {
+            shapes.add(of(entry.getKey(), entry.getValue()));
+        }
+        return shapes;
+    }
+
+}
@@ -1,36 +1,51 @@
 package com.tinytinkers;
 
+import com.tinytinkers.codec.ValueCodecs;
+import com.tinytinkers.enums.BuildOperation;
 import com.tinytinkers.enums.JoinType;
+import com.tinytinkers.enums.KeysetStyle;
 import com.tinytinkers.enums.Order;
+import com.tinytinkers.enums.PlaceholderStyle;
+import com.tinytinkers.metrics.QueryBuildEvent;
 import com.tinytinkers.structures.Pair;
-
-import java.time.LocalDate;
-import java.time.LocalDateTime;
-import java.util.Arrays;
+import com.tinytinkers.structures.PersistentList;
+
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
-import java.util.stream.Collectors;
-
-import static com.tinytinkers.constants.Keywords.*;
-import static java.time.format.DateTimeFormatter.ISO_LOCAL_DATE;
-import static java.time.format.DateTimeFormatter.ofPattern;
+import java.util.OptionalInt;
+import java.util.Set;
 
 public class DynamicQueryBuilder {
-    private String query = "";
+    private static final String DEFAULT_TOTAL_COUNT_ALIAS = "total_count";
 
-    private DynamicQueryBuilder() {}
+    private QueryModel model;
+    private boolean shared;
+
+    private DynamicQueryBuilder(QueryModel model, boolean shared) {
+        this.model = model;
+        this.shared = shared;
+    }
 
     public static DynamicQueryBuilder of() {
-        return new DynamicQueryBuilder();
+        return new DynamicQueryBuilder(new QueryModel(), false);
+    }
+
+    static DynamicQueryBuilder fork(QueryModel model) {
+        return new DynamicQueryBuilder(model, true);
     }
 
     public DynamicQueryBuilder selectFrom(String tableName) {
         if (tableName == null || tableName.isBlank()) {
             throw new IllegalArgumentException("Table name cannot be null or blank");
         }
-        tableName = sanitizeInput(tableName);
-        query = SELECT_ALL_FROM + tableName;
+        select(QueryModel.Selection.ALL, tableName);
         return this;
     }
 
@@ -38,8 +53,7 @@ public class DynamicQueryBuilder {
         if (tableName == null || tableName.isBlank()) {
             throw new IllegalArgumentException("Table name cannot be null or blank");
         }
-        tableName = sanitizeInput(tableName);
-        query = SELECT_COUNT_FROM + tableName;
+        select(QueryModel.Selection.COUNT, tableName);
         return this;
     }
 
@@ -48,19 +62,16 @@ public class DynamicQueryBuilder {
             throw new IllegalArgumentException("Table name cannot be null or blank");
         }
 
-        tableName = sanitizeInput(tableName);
-
-        String[] sanitizedColumns = columns == null ? new String[0] :
-                Arrays.stream(columns)
-                        .filter(col -> col != null && !col.isBlank())
-                        .map(this::sanitizeInput)
-                        .toArray(String[]::new);
-
-        if (sanitizedColumns.length == 0) {
-            query = SELECT_ALL_FROM + tableName;
-        } else {
-            String specificColumnsQueryPart = String.join(",", sanitizedColumns);
-            query = SELECT + specificColumnsQueryPart + FROM + tableName;
+        QueryModel model = select(QueryModel.Selection.ALL, tableName);
+        if (columns != null) {
+            for (String column : columns) {
+                if (column != null && !column.isBlank()) {
+                    model.columns = model.columns.append(Sanitizer.sanitizeIdentifier(column));
+                }
+            }
+        }
+        if (!model.columns.isEmpty()) {
+            model.selection = QueryModel.Selection.COLUMNS;
         }
         return this;
     }
@@ -70,48 +81,120 @@ public class DynamicQueryBuilder {
             return this;
         }
 
-        Map<String, Condition<?>> filteredClauses = whereClauses.entrySet().stream()
-                .filter(entry -> entry.getKey() != null && !entry.getKey().isBlank() && entry.getValue() != null)
-                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+        QueryModel model = mutableModel();
+        for (Map.Entry<String, Condition<?>> entry : whereClauses.entrySet()) {
+            String key = entry.getKey();
+            Condition<?> condition = entry.getValue();
+            if (key == null || key.isBlank() || condition == null || condition.value() == null) {
+                continue;
+            }
+            model.predicates = model.predicates.append(new QueryModel.ColumnPredicate(Sanitizer.sanitizeIdentifier(key), condition));
+        }
+        return this;
+    }
 
-        if (filteredClauses.isEmpty()) {
+    /**
+     * Adds a filter combining conditions with {@code and}, {@code or} and {@code not}. The top-level conjuncts are
+     * added alongside any {@code where(Map)} conditions, so they still take part in predicate simplification and the
+     * IN list policy; only {@code or} groups are rendered as a parenthesized expression.
+     */
+    public DynamicQueryBuilder where(Filter filter) {
+        Filter normalized = FilterNormalizer.normalize(filter);
+        if (normalized == null) {
             return this;
         }
 
-        StringBuilder whereClauseBuilder = new StringBuilder(WHERE);
-        boolean isFirstCondition = true;
+        QueryModel model = mutableModel();
+        List<Filter> conjuncts = normalized instanceof Filter.All all ? all.filters() : List.of(normalized);
+        for (Filter conjunct : conjuncts) {
+            QueryModel.Predicate predicate = conjunct instanceof Filter.Match match
+                    ? new QueryModel.ColumnPredicate(match.column(), match.condition())
+                    : new QueryModel.FilterPredicate(conjunct);
+            model.predicates = model.predicates.append(predicate);
+        }
+        return this;
+    }
 
-        for (Map.Entry<String, Condition<?>> entry : filteredClauses.entrySet()) {
-            String key = sanitizeInput(entry.getKey());
-            Condition<?> condition = entry.getValue();
-            Object value = condition.value();
+    public DynamicQueryBuilder after(String column, Object lastValue, Order order) {
+        return after(List.of(column), lastValue == null ? null : Collections.singletonList(lastValue), order, KeysetStyle.ROW_VALUE);
+    }
 
-            if (value == null) {
-                continue;
-            }
+    public DynamicQueryBuilder after(List<String> columns, List<?> lastValues, Order order) {
+        return after(columns, lastValues, order, KeysetStyle.ROW_VALUE);
+    }
 
-            if (!isFirstCondition) {
-                whereClauseBuilder.append(AND);
+    /**
+     * Pages after {@code lastValues} and orders by the keyset columns. The query must not already be ordered by
+     * anything else, since paging on one key while sorting by another skips and repeats rows; calling this again
+     * moves the cursor instead of adding a second one. Cursor values cannot be null, because a row comparison with
+     * NULL matches nothing.
+     */
+    public DynamicQueryBuilder after(List<String> columns, List<?> lastValues, Order order, KeysetStyle style) {
+        if (columns == null || columns.isEmpty() || order == null || style == null) {
+            throw new IllegalArgumentException("Keyset columns, order and style cannot be null or empty");
+        }
+        if (lastValues != null && lastValues.size() != columns.size()) {
+            throw new IllegalArgumentException(
+                    "Expected %d keyset values but got %d".formatted(columns.size(), lastValues.size()));
+        }
+        if (lastValues != null) {
+            for (Object value : lastValues) {
+                if (value == null) {
+                    throw new IllegalArgumentException("Keyset values cannot be null");
+                }
             }
-
-            String formattedValue = formatValue(value);
-            whereClauseBuilder.append(key).append(condition.operator()).append(formattedValue);
-            isFirstCondition = false;
         }
 
-        if (!isFirstCondition) {
-            query += whereClauseBuilder.toString();
+        List<String> sanitizedColumns = new ArrayList<>(columns.size());
+        for (String column : columns) {
+            if (column == null || column.isBlank()) {
+                throw new IllegalArgumentException("Keyset column cannot be null or blank");
+            }
+            sanitizedColumns.add(Sanitizer.sanitizeIdentifier(column));
+        }
+        boolean ordered = !this.model.orderings.isEmpty();
+        if (ordered && !isKeysetOrdering(this.model.orderings, sanitizedColumns, order)) {
+            throw new IllegalArgumentException(
+                    "Query is already ordered by other columns than the keyset %s".formatted(sanitizedColumns));
         }
 
+        QueryModel model = mutableModel();
+        if (lastValues != null) {
+            PersistentList<QueryModel.Predicate> predicates = PersistentList.empty();
+            for (QueryModel.Predicate predicate : model.predicates) {
+                if (!(predicate instanceof QueryModel.KeysetPredicate)) {
+                    predicates = predicates.append(predicate);
+                }
+            }
+            model.predicates = predicates.append(new QueryModel.KeysetPredicate(
+                    List.copyOf(sanitizedColumns), Collections.unmodifiableList(new ArrayList<>(lastValues)), order, style));
+        }
+        if (!ordered) {
+            for (String column : sanitizedColumns) {
+                model.orderings = model.orderings.append(new QueryModel.Ordering(column, order));
+            }
+        }
         return this;
     }
 
+    private static boolean isKeysetOrdering(List<QueryModel.Ordering> orderings, List<String> columns, Order order) {
+        if (orderings.size() != columns.size()) {
+            return false;
+        }
+        for (int i = 0; i < columns.size(); i++) {
+            if (!orderings.get(i).column().equals(columns.get(i)) || orderings.get(i).order() != order) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     public DynamicQueryBuilder orderBy(String column, Order order) {
         if (column == null || column.isBlank() || order == null) {
             return this;
         }
-        column = sanitizeInput(column);
-        query += ORDER_BY + column + " " + order.getCode();
+        QueryModel model = mutableModel();
+        model.orderings = model.orderings.append(new QueryModel.Ordering(Sanitizer.sanitizeIdentifier(column), order));
         return this;
     }
 
@@ -120,16 +203,12 @@ public class DynamicQueryBuilder {
             return this;
         }
 
-        String[] sanitizedColumns = Arrays.stream(columns)
-                .filter(col -> col != null && !col.isBlank())
-                .map(this::sanitizeInput)
-                .toArray(String[]::new);
-
-        if (sanitizedColumns.length == 0) {
-            return this;
+        QueryModel model = mutableModel();
+        for (String column : columns) {
+            if (column != null && !column.isBlank()) {
+                model.groupBy = model.groupBy.append(Sanitizer.sanitizeIdentifier(column));
+            }
         }
-
-        query += GROUP_BY + String.join(",", sanitizedColumns);
         return this;
     }
 
@@ -137,8 +216,8 @@ public class DynamicQueryBuilder {
         if (condition == null || condition.isBlank()) {
             return this;
         }
-        condition = sanitizeInput(condition);
-        query += HAVING + condition;
+        QueryModel model = mutableModel();
+        model.having = model.having.append(Sanitizer.sanitize(condition));
         return this;
     }
 
@@ -146,9 +225,8 @@ public class DynamicQueryBuilder {
         if (joinType == null || table == null || table.isBlank() || onClause == null || onClause.isBlank()) {
             return this;
         }
-        table = sanitizeInput(table);
-        onClause = sanitizeInput(onClause);
-        query += " " + joinType.getCode() + JOIN + table + ON + onClause;
+        QueryModel model = mutableModel();
+        model.joins = model.joins.append(new QueryModel.Join(joinType, Sanitizer.sanitizeIdentifier(table), Sanitizer.sanitize(onClause)));
         return this;
     }
 
@@ -156,16 +234,73 @@ public class DynamicQueryBuilder {
         if (alias == null || alias.isBlank() || subquery == null || subquery.isBlank()) {
             return this;
         }
-        alias = sanitizeInput(alias);
-        subquery = sanitizeInput(subquery);
-        query += " (" + subquery + ") " + alias;
+        QueryModel model = mutableModel();
+        model.subqueryAlias = Sanitizer.sanitizeIdentifier(alias);
+        model.subquery = Sanitizer.sanitize(subquery);
+        model.subqueryModel = null;
         return this;
     }
 
-    public DynamicQueryBuilder distinct() {
-        if (query.startsWith(SELECT)) {
-            query = query.replaceFirst(SELECT, SELECT + DISTINCT);
+    /**
+     * Uses {@code subquery} as a derived table. It is rendered inline in the same pass as this query, and its binds
+     * are numbered in the order they appear in the statement. Later changes to {@code subquery} are not seen.
+     */
+    public DynamicQueryBuilder subquery(String alias, DynamicQueryBuilder subquery) {
+        if (alias == null || alias.isBlank() || subquery == null) {
+            return this;
+        }
+        QueryModel nested = subquery.nestedModel();
+        QueryModel model = mutableModel();
+        model.subqueryAlias = Sanitizer.sanitizeIdentifier(alias);
+        model.subquery = null;
+        model.subqueryModel = nested;
+        return this;
+    }
+
+    public DynamicQueryBuilder whereIn(String column, DynamicQueryBuilder subquery) {
+        if (column == null || column.isBlank() || subquery == null) {
+            return this;
         }
+        QueryModel nested = subquery.nestedModel();
+        QueryModel model = mutableModel();
+        model.predicates = model.predicates.append(
+                new QueryModel.SubqueryPredicate(Sanitizer.sanitizeIdentifier(column), nested));
+        return this;
+    }
+
+    public DynamicQueryBuilder exists(DynamicQueryBuilder subquery) {
+        if (subquery == null) {
+            return this;
+        }
+        QueryModel nested = subquery.nestedModel();
+        QueryModel model = mutableModel();
+        model.predicates = model.predicates.append(new QueryModel.SubqueryPredicate(null, nested));
+        return this;
+    }
+
+    /**
+     * Adds {@code WITH name AS (query)} ahead of this query, so a derived set referenced several times is written
+     * and computed once per statement. Common tables render in the order they are added, and stay at the top level
+     * when the query is wrapped for counting or totals.
+     */
+    public DynamicQueryBuilder with(String name, DynamicQueryBuilder query) {
+        if (name == null || name.isBlank() || query == null) {
+            throw new IllegalArgumentException("Common table name and query cannot be null or blank");
+        }
+        String sanitized = Sanitizer.sanitizeIdentifier(name);
+        QueryModel nested = query.nestedModel();
+        for (QueryModel.CommonTable commonTable : model.commonTables) {
+            if (commonTable.name().equals(sanitized)) {
+                throw new IllegalArgumentException("Duplicate common table " + sanitized);
+            }
+        }
+        QueryModel model = mutableModel();
+        model.commonTables = model.commonTables.append(new QueryModel.CommonTable(sanitized, nested));
+        return this;
+    }
+
+    public DynamicQueryBuilder distinct() {
+        mutableModel().distinct = true;
         return this;
     }
 
@@ -173,8 +308,7 @@ public class DynamicQueryBuilder {
         if (alias == null || alias.isBlank()) {
             return this;
         }
-        alias = sanitizeInput(alias);
-        query += " AS " + alias;
+        mutableModel().alias = Sanitizer.sanitizeIdentifier(alias);
         return this;
     }
 
@@ -182,7 +316,7 @@ public class DynamicQueryBuilder {
         if (limit <= 0) {
             return this;
         }
-        query += LIMIT + limit;
+        mutableModel().limit = limit;
         return this;
     }
 
@@ -190,51 +324,315 @@ public class DynamicQueryBuilder {
         if (offset < 0) {
             return this;
         }
-        query += OFFSET + offset;
+        mutableModel().offset = offset;
         return this;
     }
 
+    /**
+     * Rewrites IN lists longer than the policy's maximum size, including lists inside {@link Filter} groups. The join
+     * strategies render a semi-join, {@code column IN (SELECT value FROM ...)}, so the FROM clause and the result
+     * columns are the same as without a policy.
+     */
+    public DynamicQueryBuilder inListPolicy(InListPolicy inListPolicy) {
+        mutableModel().inListPolicy = inListPolicy;
+        return this;
+    }
+
+    /**
+     * Renders WHERE predicates in a canonical order so the same logical filter always produces the same SQL text,
+     * whatever map implementation or insertion order supplied the conditions. Column conditions come first, sorted by
+     * sanitized column name and then by operator; ties keep their insertion order. Filter groups, subquery conditions
+     * and keyset predicates follow in that order, each in insertion order. Joins, ORDER BY and GROUP BY are left as
+     * written because their order carries meaning.
+     */
+    public DynamicQueryBuilder canonical() {
+        mutableModel().canonical = true;
+        return this;
+    }
+
+    public DynamicQueryBuilder codecs(ValueCodecs codecs) {
+        if (codecs == null) {
+            throw new IllegalArgumentException("Codecs cannot be null");
+        }
+        mutableModel().codecs = codecs;
+        return this;
+    }
+
+    public DynamicQueryBuilder simplify() {
+        mutableModel().simplify = true;
+        return this;
+    }
+
+    /**
+     * Adds a {@code COUNT(*) OVER()} column so every row of the page also carries the total number of matching rows.
+     * DISTINCT queries are wrapped in a derived table first, since the window would otherwise count duplicates.
+     */
+    public DynamicQueryBuilder withTotalCount() {
+        return withTotalCount(DEFAULT_TOTAL_COUNT_ALIAS);
+    }
+
+    public DynamicQueryBuilder withTotalCount(String alias) {
+        if (alias == null || alias.isBlank()) {
+            throw new IllegalArgumentException("Total count alias cannot be null or blank");
+        }
+        mutableModel().totalCountAlias = Sanitizer.sanitizeIdentifier(alias);
+        return this;
+    }
+
+    /**
+     * Returns a new builder counting the rows this query would match across all pages. ORDER BY, LIMIT, OFFSET and
+     * keyset cursors are dropped; DISTINCT, GROUP BY and HAVING queries are counted through a derived table.
+     */
+    public DynamicQueryBuilder toCountQuery() {
+        checkBuildable();
+        return new DynamicQueryBuilder(model.countQuery(), false);
+    }
+
+    public boolean isAlwaysEmpty() {
+        return PredicateSimplifier.simplify(model.predicates).contradiction();
+    }
+
+    /**
+     * Returns a 16 character hex hash of the query shape. The shape is the canonical prepared form with every bind
+     * value, IN list and LIMIT/OFFSET count replaced by a placeholder, so queries that differ only in their values
+     * share a fingerprint.
+     */
+    public String fingerprint() {
+        checkBuildable();
+        return SqlRenderer.fingerprint(model.renderable());
+    }
+
+    public List<String> selectedColumns() {
+        return model.columns;
+    }
+
+    public List<Pair<String, Order>> orderings() {
+        List<Pair<String, Order>> orderings = new ArrayList<>(model.orderings.size());
+        for (QueryModel.Ordering ordering : model.orderings) {
+            orderings.add(Pair.of(ordering.column(), ordering.order()));
+        }
+        return Collections.unmodifiableList(orderings);
+    }
+
+    public OptionalInt limitValue() {
+        return model.limit > 0 ? OptionalInt.of(model.limit) : OptionalInt.empty();
+    }
+
+    public OptionalInt offsetValue() {
+        return model.offset >= 0 ? OptionalInt.of(model.offset) : OptionalInt.empty();
+    }
+
+    public boolean isCountQuery() {
+        return model.selection == QueryModel.Selection.COUNT && model.groupBy.isEmpty();
+    }
+
+    public boolean selectsAllColumns() {
+        return model.selection == QueryModel.Selection.ALL;
+    }
+
+    public boolean isDistinct() {
+        return model.distinct;
+    }
+
+    public List<String> groupByColumns() {
+        return model.groupBy;
+    }
+
+    public boolean hasTotalCount() {
+        return model.totalCountAlias != null;
+    }
+
+    /**
+     * Returns a new builder reading the physical tables mapped from each logical table name. Renamed tables keep the
+     * logical name as their alias so qualified column references still resolve. OFFSET is folded into LIMIT, since a
+     * global page can only be cut once the shard results are merged.
+     */
+    public DynamicQueryBuilder forShard(Map<String, String> tables) {
+        if (tables == null) {
+            throw new IllegalArgumentException("Shard tables cannot be null");
+        }
+        checkBuildable();
+        return new DynamicQueryBuilder(model.forShard(tables), false);
+    }
+
+    /**
+     * Returns the tables read by this query: the FROM table, joined tables and the tables of derived sources, nested
+     * subqueries and common tables. Raw subquery strings are not inspected.
+     */
+    public Set<String> referencedTables() {
+        Set<String> tables = new LinkedHashSet<>();
+        model.collectTables(tables);
+        return Collections.unmodifiableSet(tables);
+    }
+
     public String buildToString() {
-        if (query.isBlank()) {
-            throw new IllegalStateException("Query could not be built after sanitization.");
+        StringBuilder sql = new StringBuilder(model.estimateLength() + 1);
+        render(sql, BuildOperation.STRING);
+        return sql.toString();
+    }
+
+    public <A extends Appendable> A writeTo(A out) {
+        if (out == null) {
+            throw new IllegalArgumentException("Output cannot be null");
         }
-        return query.strip() + ";";
+        render(out, BuildOperation.WRITE);
+        return out;
+    }
+
+    public ByteBuffer writeTo(ByteBuffer target, Charset charset) {
+        if (target == null || charset == null) {
+            throw new IllegalArgumentException("Target buffer and charset cannot be null");
+        }
+        ByteBufferAppendable out = writeTo(new ByteBufferAppendable(target, charset));
+        try {
+            out.finish();
+        } catch (CharacterCodingException e) {
+            throw new UncheckedIOException(e);
+        }
+        return target;
     }
 
     public String buildPrettyString() {
-        if (query.isBlank()) {
+        checkBuildable();
+        QueryBuildEvent event = new QueryBuildEvent();
+        event.begin();
+        long started = BuildTelemetry.start();
+        QueryModel renderable = model.renderable();
+        String sql = SqlRenderer.renderPretty(renderable);
+        BuildTelemetry.record(event, started, BuildOperation.PRETTY, renderable, sql.length());
+        return sql;
+    }
+
+    public PreparedQuery buildPrepared() {
+        return buildPrepared(PlaceholderStyle.QUESTION_MARK);
+    }
+
+    public PreparedQuery buildPrepared(PlaceholderStyle placeholderStyle) {
+        checkBuildable();
+        if (placeholderStyle == null) {
+            throw new IllegalArgumentException("Placeholder style cannot be null");
+        }
+        QueryBuildEvent event = new QueryBuildEvent();
+        event.begin();
+        long started = BuildTelemetry.start();
+        QueryModel renderable = model.renderable();
+        PreparedQuery prepared = SqlRenderer.renderPrepared(renderable, new ArrayList<>(), placeholderStyle);
+        BuildTelemetry.record(event, started, BuildOperation.PREPARED, renderable, prepared.sql().length());
+        return prepared;
+    }
+
+    public PreparedBatch buildPreparedBatch(List<Map<String, Condition<?>>> rows) {
+        return buildPreparedBatch(rows, PlaceholderStyle.QUESTION_MARK);
+    }
+
+    /**
+     * Renders the SQL once from the first row and collects only the binds of the others, so every row must have the
+     * same condition shape. With {@link #simplify()} each row is rendered and must simplify to the same SQL, since
+     * merging conditions or removing IN duplicates can change the statement.
+     */
+    public PreparedBatch buildPreparedBatch(List<Map<String, Condition<?>>> rows, PlaceholderStyle placeholderStyle) {
+        if (rows == null || rows.isEmpty()) {
+            throw new IllegalArgumentException("Batch rows cannot be null or empty");
+        }
+        if (placeholderStyle == null) {
+            throw new IllegalArgumentException("Placeholder style cannot be null");
+        }
+
+        QueryBuildEvent event = new QueryBuildEvent();
+        event.begin();
+        long started = BuildTelemetry.start();
+        List<Object[]> bindRows = new ArrayList<>(rows.size());
+        List<ConditionShape> templateShape = null;
+        QueryModel templateModel = null;
+        String sql = null;
+
+        for (int i = 0; i < rows.size(); i++) {
+            List<Map.Entry<String, Condition<?>>> entries = ConditionShape.sortedEntries(rows.get(i));
+            List<ConditionShape> rowShape = ConditionShape.shapesOf(entries);
+            if (templateShape == null) {
+                templateShape = rowShape;
+            } else if (!templateShape.equals(rowShape)) {
+                throw new IllegalArgumentException(
+                        "Batch row %d has condition shape %s, expected %s".formatted(i, rowShape, templateShape));
+            }
+
+            QueryModel batchModel = model.copy();
+            for (Map.Entry<String, Condition<?>> entry : entries) {
+                batchModel.predicates = batchModel.predicates.append(new QueryModel.ColumnPredicate(
+                        Sanitizer.sanitizeIdentifier(entry.getKey()), entry.getValue()));
+            }
+
+            batchModel = batchModel.renderable();
+            List<Object> binds = new ArrayList<>();
+            if (sql == null) {
+                if (batchModel.isEmpty()) {
+                    throw new IllegalStateException("Query could not be built after sanitization.");
+                }
+                sql = SqlRenderer.renderPrepared(batchModel, binds, placeholderStyle).sql();
+                templateModel = batchModel;
+            } else if (batchModel.simplify) {
+                String rowSql = SqlRenderer.renderPrepared(batchModel, binds, placeholderStyle).sql();
+                if (!rowSql.equals(sql)) {
+                    throw new IllegalArgumentException(
+                            "Batch row %d simplifies to %s, expected %s".formatted(i, rowSql, sql));
+                }
+            } else {
+                SqlRenderer.collectBinds(batchModel, binds);
+            }
+            bindRows.add(binds.toArray());
+        }
+        BuildTelemetry.record(event, started, BuildOperation.BATCH, templateModel, sql.length());
+        return new PreparedBatch(sql, bindRows);
+    }
+
+    public ImmutableQueryBuilder toImmutable() {
+        return new ImmutableQueryBuilder(share());
+    }
+
+    private QueryModel nestedModel() {
+        if (model.isEmpty()) {
+            throw new IllegalArgumentException("Subquery could not be built after sanitization.");
+        }
+        return share();
+    }
+
+    QueryModel share() {
+        shared = true;
+        return model;
+    }
+
+    private QueryModel mutableModel() {
+        if (shared) {
+            model = model.copy();
+            shared = false;
+        }
+        return model;
+    }
+
+    private QueryModel select(QueryModel.Selection selection, String tableName) {
+        QueryModel model = mutableModel();
+        model.selection = selection;
+        model.columns = PersistentList.empty();
+        model.table = Sanitizer.sanitizeIdentifier(tableName);
+        return model;
+    }
+
+    private void render(Appendable out, BuildOperation operation) {
+        checkBuildable();
+        QueryBuildEvent event = new QueryBuildEvent();
+        event.begin();
+        long started = BuildTelemetry.start();
+        QueryModel renderable = model.renderable();
+        int before = out instanceof CharSequence chars ? chars.length() : -1;
+        SqlRenderer.render(renderable, out);
+        int length = before < 0 ? -1 : ((CharSequence) out).length() - before;
+        BuildTelemetry.record(event, started, operation, renderable, length);
+    }
+
+    private void checkBuildable() {
+        if (model.isEmpty()) {
             throw new IllegalStateException("Query could not be built after sanitization.");
         }
-        String builtQuery = query.strip() + ";";
-        return "\n--------------------------------------------------------" +
-               builtQuery
-                       .replace(SELECT, "\n SELECT ")
-                       .replace(WHERE, "\n\t WHERE ")
-                       .replace(AND, "\n\t\t AND ")
-                       .replace(ORDER, "\n\t ORDER ") +
-               "\n--------------------------------------------------------";
-    }
-
-    private String formatValue(Object value) {
-        return switch (value) {
-            case null -> NULL;
-            case String str -> "'%s'".formatted(sanitizeInput(str));
-            case LocalDateTime dateTime -> "'%s'".formatted(sanitizeInput(dateTime.format(ofPattern("yyyy-MM-dd HH:mm:ss"))));
-            case LocalDate date -> "'%s'".formatted(sanitizeInput(date.format(ISO_LOCAL_DATE)));
-            case Pair<?, ?> pair -> "%s AND %s".formatted(formatValue(pair.getFirst()), formatValue(pair.getSecond()));
-            case List<?> list -> "(%s)".formatted(list.stream().map(this::formatValue).collect(Collectors.joining(",")));
-            default -> String.valueOf(value);
-        };
-    }
-
-    private String sanitizeInput(String input) {
-        return Optional
-                .ofNullable(input)
-                .filter(i -> !i.isBlank())
-                .map(i -> UNSAFE_INPUT_PATTERN.matcher(input).replaceAll("").trim()
-                        .replace("'", "''")
-                )
-                .orElse("");
     }
 
 }
@@ -0,0 +1,72 @@
+package com.tinytinkers;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A boolean expression over column conditions, for filters that {@code where(Map)} cannot express.
+ * <p>
+ * {@code not} is pushed down to the conditions as it is applied, so {@code not(or(a = 1, b = 2))} becomes
+ * {@code a <> 1 AND b <> 2}. When the filter is added to a query, nested groups of the same kind are flattened and
+ * equalities on the same column inside an {@code or} collapse into a single {@code IN} (inequalities inside an
+ * {@code and} into {@code NOT IN}). As with {@code where(Map)}, a condition without a value is ignored.
+ */
+public sealed interface Filter permits Filter.Match, Filter.All, Filter.Any {
+
+    record Match(
+            String column,
+            Condition<?> condition
+    ) implements Filter { }
+
+    record All(
+            List<Filter> filters
+    ) implements Filter {
+        public All {
+            filters = List.copyOf(filters);
+        }
+    }
+
+    record Any(
+            List<Filter> filters
+    ) implements Filter {
+        public Any {
+            filters = List.copyOf(filters);
+        }
+    }
+
+    static Filter of(String column, Condition<?> condition) {
+        if (column == null || column.isBlank()) {
+            throw new IllegalArgumentException("Column name cannot be null or blank");
+        }
+        return new Match(Sanitizer.sanitizeIdentifier(column), condition);
+    }
+
+    static Filter and(Filter... filters) {
+        return new All(nonNull(filters));
+    }
+
+    static Filter or(Filter... filters) {
+        return new Any(nonNull(filters));
+    }
+
+    static Filter not(Filter filter) {
+        if (filter == null) {
+            throw new IllegalArgumentException("Filter cannot be null");
+        }
+        return switch (filter) {
+            case Match match when match.condition() == null -> match;
+            case Match match -> new Match(match.column(), new Condition<>(
+                    FilterNormalizer.complement(match.condition().operator()), match.condition().value()));
+            case All all -> new Any(all.filters().stream().map(Filter::not).toList());
+            case Any any -> new All(any.filters().stream().map(Filter::not).toList());
+        };
+    }
+
+    private static List<Filter> nonNull(Filter... filters) {
+        if (filters == null || Arrays.asList(filters).contains(null)) {
+            throw new IllegalArgumentException("Filters cannot be null");
+        }
+        return List.of(filters);
+    }
+
+}
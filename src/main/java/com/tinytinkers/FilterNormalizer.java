@@ -0,0 +1,126 @@
+package com.tinytinkers;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static com.tinytinkers.constants.Operators.*;
+
+final class FilterNormalizer {
+
+    private FilterNormalizer() { }
+
+    static Filter normalize(Filter filter) {
+        return switch (filter) {
+            case null -> null;
+            case Filter.Match match when match.column() == null || match.column().isBlank()
+                                         || match.condition() == null || match.condition().value() == null -> null;
+            case Filter.Match match -> new Filter.Match(Sanitizer.sanitizeIdentifier(match.column()), match.condition());
+            case Filter.All all -> group(all.filters(), true);
+            case Filter.Any any -> group(any.filters(), false);
+        };
+    }
+
+    static String complement(String operator) {
+        return switch (operator) {
+            case EQUALS -> NOT_EQUALS;
+            case NOT_EQUALS -> EQUALS;
+            case LIKE -> NOT_LIKE;
+            case NOT_LIKE -> LIKE;
+            case GREATER_THAN -> LESS_THAN_OR_EQUAL;
+            case LESS_THAN_OR_EQUAL -> GREATER_THAN;
+            case LESS_THAN -> GREATER_THAN_OR_EQUAL;
+            case GREATER_THAN_OR_EQUAL -> LESS_THAN;
+            case BETWEEN -> NOT_BETWEEN;
+            case NOT_BETWEEN -> BETWEEN;
+            case IN -> NOT_IN;
+            case NOT_IN -> IN;
+            default -> throw new IllegalArgumentException("Cannot negate operator:" + operator);
+        };
+    }
+
+    static boolean isNegated(String operator) {
+        return switch (operator) {
+            case NOT_EQUALS, NOT_LIKE, LESS_THAN_OR_EQUAL, GREATER_THAN_OR_EQUAL, NOT_BETWEEN, NOT_IN -> true;
+            default -> false;
+        };
+    }
+
+    private static Filter group(List<Filter> filters, boolean conjunction) {
+        List<Filter> flattened = new ArrayList<>(filters.size());
+        for (Filter filter : filters) {
+            Filter normalized = normalize(filter);
+            switch (normalized) {
+                case null -> { }
+                case Filter.All all when conjunction -> flattened.addAll(all.filters());
+                case Filter.Any any when !conjunction -> flattened.addAll(any.filters());
+                default -> flattened.add(normalized);
+            }
+        }
+
+        List<Filter> collapsed = conjunction ? collapse(flattened, NOT_EQUALS, NOT_IN) : collapse(flattened, EQUALS, IN);
+        return switch (collapsed.size()) {
+            case 0 -> null;
+            case 1 -> collapsed.getFirst();
+            default -> conjunction ? new Filter.All(collapsed) : new Filter.Any(collapsed);
+        };
+    }
+
+    private static List<Filter> collapse(List<Filter> filters, String single, String list) {
+        Map<String, Set<Object>> values = new LinkedHashMap<>();
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        for (Filter filter : filters) {
+            if (filter instanceof Filter.Match match && isCollapsible(match, single, list)) {
+                counts.merge(match.column(), 1, Integer::sum);
+                Set<Object> merged = values.computeIfAbsent(match.column(), column -> new LinkedHashSet<>());
+                Object value = match.condition().value();
+                if (single.equals(match.condition().operator())) {
+                    merged.add(value);
+                } else {
+                    for (int i = 0; i < QueryModel.inListSize(value); i++) {
+                        merged.add(element(value, i));
+                    }
+                }
+            }
+        }
+        counts.values().removeIf(count -> count < 2);
+        if (counts.isEmpty()) {
+            return filters;
+        }
+
+        Set<String> emitted = new HashSet<>();
+        List<Filter> collapsed = new ArrayList<>(filters.size());
+        for (Filter filter : filters) {
+            if (!(filter instanceof Filter.Match match) || !counts.containsKey(match.column())
+                || !isCollapsible(match, single, list)) {
+                collapsed.add(filter);
+            } else if (emitted.add(match.column())) {
+                List<Object> merged = Collections.unmodifiableList(new ArrayList<>(values.get(match.column())));
+                collapsed.add(new Filter.Match(match.column(), new Condition<>(list, merged)));
+            }
+        }
+        return collapsed;
+    }
+
+    private static boolean isCollapsible(Filter.Match match, String single, String list) {
+        String operator = match.condition().operator();
+        return single.equals(operator) && QueryModel.inListSize(match.condition().value()) < 0
+               || list.equals(operator) && QueryModel.inListSize(match.condition().value()) >= 0;
+    }
+
+    private static Object element(Object values, int index) {
+        return switch (values) {
+            case int[] ints -> ints[index];
+            case long[] longs -> longs[index];
+            case String[] strings -> strings[index];
+            case List<?> list -> list.get(index);
+            default -> throw new IllegalArgumentException("Unsupported IN list type: " + values.getClass().getName());
+        };
+    }
+
+}
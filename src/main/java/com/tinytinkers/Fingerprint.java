@@ -0,0 +1,35 @@
+package com.tinytinkers;
+
+final class Fingerprint implements Appendable {
+
+    private static final long OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long PRIME = 0x100000001b3L;
+
+    private long hash = OFFSET_BASIS;
+
+    @Override
+    public Appendable append(CharSequence csq) {
+        return append(csq, 0, csq.length());
+    }
+
+    @Override
+    public Appendable append(CharSequence csq, int start, int end) {
+        for (int i = start; i < end; i++) {
+            append(csq.charAt(i));
+        }
+        return this;
+    }
+
+    @Override
+    public Appendable append(char c) {
+        hash = (hash ^ (c & 0xff)) * PRIME;
+        hash = (hash ^ (c >>> 8)) * PRIME;
+        return this;
+    }
+
+    String toHex() {
+        String hex = Long.toHexString(hash);
+        return "0".repeat(16 - hex.length()) + hex;
+    }
+
+}
@@ -0,0 +1,233 @@
+package com.tinytinkers;
+
+import com.tinytinkers.codec.ValueCodecs;
+import com.tinytinkers.enums.JoinType;
+import com.tinytinkers.enums.KeysetStyle;
+import com.tinytinkers.enums.Order;
+import com.tinytinkers.enums.PlaceholderStyle;
+import com.tinytinkers.structures.Pair;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalInt;
+import java.util.Set;
+import java.util.function.UnaryOperator;
+
+public final class ImmutableQueryBuilder {
+
+    private static final ImmutableQueryBuilder EMPTY = new ImmutableQueryBuilder(new QueryModel());
+
+    private final QueryModel model;
+
+    ImmutableQueryBuilder(QueryModel model) {
+        this.model = model;
+    }
+
+    public static ImmutableQueryBuilder of() {
+        return EMPTY;
+    }
+
+    public ImmutableQueryBuilder selectFrom(String tableName) {
+        return fork(builder -> builder.selectFrom(tableName));
+    }
+
+    public ImmutableQueryBuilder countFrom(String tableName) {
+        return fork(builder -> builder.countFrom(tableName));
+    }
+
+    public ImmutableQueryBuilder selectSpecificColumnsFrom(String tableName, String... columns) {
+        return fork(builder -> builder.selectSpecificColumnsFrom(tableName, columns));
+    }
+
+    public ImmutableQueryBuilder where(Map<String, Condition<?>> whereClauses) {
+        return fork(builder -> builder.where(whereClauses));
+    }
+
+    public ImmutableQueryBuilder where(Filter filter) {
+        return fork(builder -> builder.where(filter));
+    }
+
+    public ImmutableQueryBuilder after(String column, Object lastValue, Order order) {
+        return fork(builder -> builder.after(column, lastValue, order));
+    }
+
+    public ImmutableQueryBuilder after(List<String> columns, List<?> lastValues, Order order) {
+        return fork(builder -> builder.after(columns, lastValues, order));
+    }
+
+    public ImmutableQueryBuilder after(List<String> columns, List<?> lastValues, Order order, KeysetStyle style) {
+        return fork(builder -> builder.after(columns, lastValues, order, style));
+    }
+
+    public ImmutableQueryBuilder orderBy(String column, Order order) {
+        return fork(builder -> builder.orderBy(column, order));
+    }
+
+    public ImmutableQueryBuilder groupBy(String... columns) {
+        return fork(builder -> builder.groupBy(columns));
+    }
+
+    public ImmutableQueryBuilder having(String condition) {
+        return fork(builder -> builder.having(condition));
+    }
+
+    public ImmutableQueryBuilder join(JoinType joinType, String table, String onClause) {
+        return fork(builder -> builder.join(joinType, table, onClause));
+    }
+
+    public ImmutableQueryBuilder subquery(String alias, String subquery) {
+        return fork(builder -> builder.subquery(alias, subquery));
+    }
+
+    public ImmutableQueryBuilder subquery(String alias, ImmutableQueryBuilder subquery) {
+        return fork(builder -> builder.subquery(alias, subquery == null ? null : subquery.toBuilder()));
+    }
+
+    public ImmutableQueryBuilder whereIn(String column, ImmutableQueryBuilder subquery) {
+        return fork(builder -> builder.whereIn(column, subquery == null ? null : subquery.toBuilder()));
+    }
+
+    public ImmutableQueryBuilder exists(ImmutableQueryBuilder subquery) {
+        return fork(builder -> builder.exists(subquery == null ? null : subquery.toBuilder()));
+    }
+
+    public ImmutableQueryBuilder with(String name, ImmutableQueryBuilder query) {
+        return fork(builder -> builder.with(name, query == null ? null : query.toBuilder()));
+    }
+
+    public ImmutableQueryBuilder distinct() {
+        return fork(DynamicQueryBuilder::distinct);
+    }
+
+    public ImmutableQueryBuilder alias(String alias) {
+        return fork(builder -> builder.alias(alias));
+    }
+
+    public ImmutableQueryBuilder limit(int limit) {
+        return fork(builder -> builder.limit(limit));
+    }
+
+    public ImmutableQueryBuilder offset(int offset) {
+        return fork(builder -> builder.offset(offset));
+    }
+
+    public ImmutableQueryBuilder inListPolicy(InListPolicy inListPolicy) {
+        return fork(builder -> builder.inListPolicy(inListPolicy));
+    }
+
+    public ImmutableQueryBuilder canonical() {
+        return fork(DynamicQueryBuilder::canonical);
+    }
+
+    public ImmutableQueryBuilder codecs(ValueCodecs codecs) {
+        return fork(builder -> builder.codecs(codecs));
+    }
+
+    public ImmutableQueryBuilder simplify() {
+        return fork(DynamicQueryBuilder::simplify);
+    }
+
+    public ImmutableQueryBuilder withTotalCount() {
+        return fork(DynamicQueryBuilder::withTotalCount);
+    }
+
+    public ImmutableQueryBuilder withTotalCount(String alias) {
+        return fork(builder -> builder.withTotalCount(alias));
+    }
+
+    public ImmutableQueryBuilder toCountQuery() {
+        return toBuilder().toCountQuery().toImmutable();
+    }
+
+    public boolean isAlwaysEmpty() {
+        return toBuilder().isAlwaysEmpty();
+    }
+
+    public String fingerprint() {
+        return toBuilder().fingerprint();
+    }
+
+    public List<String> selectedColumns() {
+        return model.columns;
+    }
+
+    public Set<String> referencedTables() {
+        return toBuilder().referencedTables();
+    }
+
+    public List<Pair<String, Order>> orderings() {
+        return toBuilder().orderings();
+    }
+
+    public OptionalInt limitValue() {
+        return toBuilder().limitValue();
+    }
+
+    public OptionalInt offsetValue() {
+        return toBuilder().offsetValue();
+    }
+
+    public boolean isCountQuery() {
+        return toBuilder().isCountQuery();
+    }
+
+    public boolean selectsAllColumns() {
+        return toBuilder().selectsAllColumns();
+    }
+
+    public boolean isDistinct() {
+        return toBuilder().isDistinct();
+    }
+
+    public List<String> groupByColumns() {
+        return toBuilder().groupByColumns();
+    }
+
+    public boolean hasTotalCount() {
+        return toBuilder().hasTotalCount();
+    }
+
+    public ImmutableQueryBuilder forShard(Map<String, String> tables) {
+        return toBuilder().forShard(tables).toImmutable();
+    }
+
+    public DynamicQueryBuilder toBuilder() {
+        return DynamicQueryBuilder.fork(model);
+    }
+
+    public String buildToString() {
+        return toBuilder().buildToString();
+    }
+
+    public String buildPrettyString() {
+        return toBuilder().buildPrettyString();
+    }
+
+    public PreparedQuery buildPrepared() {
+        return toBuilder().buildPrepared();
+    }
+
+    public PreparedQuery buildPrepared(PlaceholderStyle placeholderStyle) {
+        return toBuilder().buildPrepared(placeholderStyle);
+    }
+
+    public PreparedBatch buildPreparedBatch(List<Map<String, Condition<?>>> rows) {
+        return toBuilder().buildPreparedBatch(rows);
+    }
+
+    public <A extends Appendable> A writeTo(A out) {
+        return toBuilder().writeTo(out);
+    }
+
+    public ByteBuffer writeTo(ByteBuffer target, Charset charset) {
+        return toBuilder().writeTo(target, charset);
+    }
+
+    private ImmutableQueryBuilder fork(UnaryOperator<DynamicQueryBuilder> clause) {
+        QueryModel forked = clause.apply(DynamicQueryBuilder.fork(model)).share();
+        return forked == model ? this : new ImmutableQueryBuilder(forked);
+    }
+
+}
@@ -0,0 +1,30 @@
+package com.tinytinkers;
+
+import com.tinytinkers.enums.InListStrategy;
+
+public record InListPolicy(
+        int maxSize,
+        InListStrategy strategy
+) {
+    public InListPolicy {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("Maximum IN list size must be greater than zero");
+        }
+        if (strategy == null) {
+            throw new IllegalArgumentException("IN list strategy cannot be null");
+        }
+    }
+
+    public static InListPolicy orChunks(int maxSize) {
+        return new InListPolicy(maxSize, InListStrategy.OR_CHUNKS);
+    }
+
+    public static InListPolicy valuesJoin(int maxSize) {
+        return new InListPolicy(maxSize, InListStrategy.VALUES_JOIN);
+    }
+
+    public static InListPolicy unnestJoin(int maxSize) {
+        return new InListPolicy(maxSize, InListStrategy.UNNEST_JOIN);
+    }
+
+}
@@ -0,0 +1,537 @@
+package com.tinytinkers;
+
+import com.tinytinkers.enums.Order;
+import com.tinytinkers.structures.ColumnarTable;
+import com.tinytinkers.structures.Pair;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.RecordComponent;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.function.IntPredicate;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static com.tinytinkers.constants.Operators.*;
+
+/**
+ * Evaluates a built query against in-memory rows instead of a database: WHERE conditions and keyset cursors, ORDER BY,
+ * LIMIT/OFFSET, GROUP BY counts and COUNT. Rows are either records, whose components are matched to columns ignoring
+ * case and underscores, or a {@link ColumnarTable}.
+ * <p>
+ * Comparisons follow SQL: a NULL column never matches, and NULLs sort last ascending and first descending. LIKE
+ * patterns are matched case-sensitively. Conditions are evaluated as written unless the query opted into
+ * {@code simplify()}. Inputs of at least {@value #PARALLEL_THRESHOLD} rows are filtered, sorted and
+ * grouped in parallel on the common fork/join pool. Queries with joins, subqueries, DISTINCT or HAVING are rejected
+ * because their SQL fragments cannot be evaluated here.
+ */
+public final class InMemoryQuery {
+
+    static final int PARALLEL_THRESHOLD = 1 << 14;
+
+    private final QueryModel model;
+
+    private InMemoryQuery(QueryModel model) {
+        this.model = model;
+    }
+
+    public static InMemoryQuery of(DynamicQueryBuilder query) {
+        if (query == null) {
+            throw new IllegalArgumentException("Query cannot be null");
+        }
+        return of(query.share());
+    }
+
+    public static InMemoryQuery of(ImmutableQueryBuilder query) {
+        if (query == null) {
+            throw new IllegalArgumentException("Query cannot be null");
+        }
+        return of(query.toBuilder().share());
+    }
+
+    private static InMemoryQuery of(QueryModel model) {
+        if (!model.joins.isEmpty() || model.subquery != null || model.subqueryModel != null || model.source != null
+            || !model.commonTables.isEmpty()
+            || model.predicates.stream().anyMatch(QueryModel.SubqueryPredicate.class::isInstance)) {
+            throw new IllegalArgumentException("Queries with joins or subqueries cannot be evaluated in memory");
+        }
+        if (model.distinct || !model.having.isEmpty()) {
+            throw new IllegalArgumentException("DISTINCT and HAVING cannot be evaluated in memory");
+        }
+        return new InMemoryQuery(model);
+    }
+
+    public <R extends Record> List<R> list(List<R> rows) {
+        if (rows == null) {
+            throw new IllegalArgumentException("Rows cannot be null");
+        }
+        if (rows.isEmpty()) {
+            return List.of();
+        }
+        int[] selected = select(new RecordSource(rows));
+        List<R> result = new ArrayList<>(selected.length);
+        for (int row : selected) {
+            result.add(rows.get(row));
+        }
+        return result;
+    }
+
+    public <R extends Record> long count(List<R> rows) {
+        if (rows == null) {
+            throw new IllegalArgumentException("Rows cannot be null");
+        }
+        return rows.isEmpty() ? 0 : count(new RecordSource(rows));
+    }
+
+    public <R extends Record> Map<List<Object>, Long> countByGroup(List<R> rows) {
+        if (rows == null) {
+            throw new IllegalArgumentException("Rows cannot be null");
+        }
+        return rows.isEmpty() ? Map.of() : countByGroup(new RecordSource(rows));
+    }
+
+    /**
+     * Returns the indexes of the selected rows in result order.
+     */
+    public int[] select(ColumnarTable table) {
+        return select(new ColumnarSource(checkTable(table)));
+    }
+
+    public long count(ColumnarTable table) {
+        return count(new ColumnarSource(checkTable(table)));
+    }
+
+    public Map<List<Object>, Long> countByGroup(ColumnarTable table) {
+        return countByGroup(new ColumnarSource(checkTable(table)));
+    }
+
+    private int[] select(Source source) {
+        int[] matches = filter(source);
+        if (!model.orderings.isEmpty()) {
+            matches = sort(source, matches);
+        }
+        int from = Math.min(matches.length, Math.max(0, model.offset));
+        int to = model.limit > 0 ? (int) Math.min(matches.length, (long) from + model.limit) : matches.length;
+        return from == 0 && to == matches.length ? matches : Arrays.copyOfRange(matches, from, to);
+    }
+
+    private long count(Source source) {
+        IntPredicate where = where(source);
+        IntStream rows = IntStream.range(0, source.size());
+        return (source.size() >= PARALLEL_THRESHOLD ? rows.parallel() : rows).filter(where).count();
+    }
+
+    private Map<List<Object>, Long> countByGroup(Source source) {
+        if (model.groupBy.isEmpty()) {
+            throw new IllegalStateException("Query has no GROUP BY columns");
+        }
+        Column[] keys = new Column[model.groupBy.size()];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = source.column(model.groupBy.get(i));
+        }
+        IntStream rows = Arrays.stream(filter(source));
+        return (source.size() >= PARALLEL_THRESHOLD ? rows.parallel() : rows).boxed()
+                .collect(Collectors.groupingBy(row -> {
+                    Object[] key = new Object[keys.length];
+                    for (int i = 0; i < keys.length; i++) {
+                        key[i] = keys[i].get(row);
+                    }
+                    return Arrays.asList(key);
+                }, LinkedHashMap::new, Collectors.counting()));
+    }
+
+    private int[] filter(Source source) {
+        IntPredicate where = where(source);
+        IntStream rows = IntStream.range(0, source.size());
+        return (source.size() >= PARALLEL_THRESHOLD ? rows.parallel() : rows).filter(where).toArray();
+    }
+
+    private int[] sort(Source source, int[] rows) {
+        Comparator<Integer> order = null;
+        for (QueryModel.Ordering ordering : model.orderings) {
+            Comparator<Integer> key = comparator(source.column(ordering.column()));
+            key = ordering.order() == Order.DESCENDING ? key.reversed() : key;
+            order = order == null ? key : order.thenComparing(key);
+        }
+        order = order.thenComparing(Comparator.naturalOrder());
+
+        long needed = model.limit > 0 ? (long) Math.max(0, model.offset) + model.limit : rows.length;
+        if (needed < rows.length / 8) {
+            PriorityQueue<Integer> top = new PriorityQueue<>((int) needed + 1, order.reversed());
+            for (int row : rows) {
+                top.add(row);
+                if (top.size() > needed) {
+                    top.poll();
+                }
+            }
+            int[] sorted = new int[top.size()];
+            for (int i = sorted.length - 1; i >= 0; i--) {
+                sorted[i] = top.poll();
+            }
+            return sorted;
+        }
+
+        Integer[] boxed = Arrays.stream(rows).boxed().toArray(Integer[]::new);
+        if (boxed.length >= PARALLEL_THRESHOLD) {
+            Arrays.parallelSort(boxed, order);
+        } else {
+            Arrays.sort(boxed, order);
+        }
+        return Arrays.stream(boxed).mapToInt(Integer::intValue).toArray();
+    }
+
+    private IntPredicate where(Source source) {
+        List<QueryModel.Predicate> predicates = model.predicates;
+        if (model.simplify) {
+            PredicateSimplifier.Simplification simplification = PredicateSimplifier.simplify(predicates);
+            if (simplification.contradiction()) {
+                return row -> false;
+            }
+            predicates = simplification.predicates();
+        }
+        IntPredicate where = null;
+        for (QueryModel.Predicate predicate : predicates) {
+            IntPredicate compiled = switch (predicate) {
+                case QueryModel.ColumnPredicate column -> compile(source.column(column.column()), column.condition());
+                case QueryModel.KeysetPredicate keyset -> compile(source, keyset);
+                case QueryModel.FilterPredicate filter -> compile(source, filter.filter());
+                case QueryModel.SubqueryPredicate ignored -> throw new IllegalStateException("Unexpected subquery");
+            };
+            where = where == null ? compiled : where.and(compiled);
+        }
+        return where == null ? row -> true : where;
+    }
+
+    private static IntPredicate compile(Source source, Filter filter) {
+        return switch (filter) {
+            case Filter.Match match -> compile(source.column(match.column()), match.condition());
+            case Filter.All all -> all.filters().stream()
+                    .map(child -> compile(source, child))
+                    .reduce(IntPredicate::and)
+                    .orElse(row -> true);
+            case Filter.Any any -> any.filters().stream()
+                    .map(child -> compile(source, child))
+                    .reduce(IntPredicate::or)
+                    .orElse(row -> false);
+        };
+    }
+
+    private static IntPredicate compile(Column column, Condition<?> condition) {
+        Object value = condition.value();
+        String operator = condition.operator();
+        if (FilterNormalizer.isNegated(operator)) {
+            IntPredicate positive = compile(column, new Condition<>(FilterNormalizer.complement(operator), value));
+            return row -> column.get(row) != null && !positive.test(row);
+        }
+        if (column instanceof LongColumn numbers) {
+            IntPredicate primitive = compileIntegral(numbers, operator, value);
+            if (primitive != null) {
+                return primitive;
+            }
+        }
+        switch (operator) {
+            case EQUALS -> {
+                return row -> {
+                    Object cell = column.get(row);
+                    return cell != null && compare(cell, value) == 0;
+                };
+            }
+            case GREATER_THAN -> {
+                return row -> {
+                    Object cell = column.get(row);
+                    return cell != null && compare(cell, value) > 0;
+                };
+            }
+            case LESS_THAN -> {
+                return row -> {
+                    Object cell = column.get(row);
+                    return cell != null && compare(cell, value) < 0;
+                };
+            }
+            case BETWEEN -> {
+                Pair<?, ?> range = (Pair<?, ?>) value;
+                return row -> {
+                    Object cell = column.get(row);
+                    return cell != null && compare(cell, range.getFirst()) >= 0 && compare(cell, range.getSecond()) <= 0;
+                };
+            }
+            case IN -> {
+                Set<Object> values = new HashSet<>();
+                for (Object element : elements(value)) {
+                    values.add(normalize(element));
+                }
+                return row -> {
+                    Object cell = column.get(row);
+                    return cell != null && values.contains(normalize(cell));
+                };
+            }
+            case LIKE -> {
+                Pattern pattern = likePattern((String) value);
+                return row -> column.get(row) instanceof CharSequence cell && pattern.matcher(cell).matches();
+            }
+            default -> throw new IllegalArgumentException("Unsupported operator:" + operator);
+        }
+    }
+
+    private static IntPredicate compileIntegral(LongColumn column, String operator, Object value) {
+        switch (operator) {
+            case EQUALS, GREATER_THAN, LESS_THAN -> {
+                if (!isIntegral(value)) {
+                    return null;
+                }
+                long bound = ((Number) value).longValue();
+                return switch (operator) {
+                    case EQUALS -> row -> column.getLong(row) == bound;
+                    case GREATER_THAN -> row -> column.getLong(row) > bound;
+                    default -> row -> column.getLong(row) < bound;
+                };
+            }
+            case BETWEEN -> {
+                Pair<?, ?> range = (Pair<?, ?>) value;
+                if (!isIntegral(range.getFirst()) || !isIntegral(range.getSecond())) {
+                    return null;
+                }
+                long low = ((Number) range.getFirst()).longValue();
+                long high = ((Number) range.getSecond()).longValue();
+                return row -> {
+                    long cell = column.getLong(row);
+                    return cell >= low && cell <= high;
+                };
+            }
+            case IN -> {
+                List<?> elements = elements(value);
+                long[] sorted = new long[elements.size()];
+                for (int i = 0; i < sorted.length; i++) {
+                    if (!isIntegral(elements.get(i))) {
+                        return null;
+                    }
+                    sorted[i] = ((Number) elements.get(i)).longValue();
+                }
+                Arrays.sort(sorted);
+                return row -> Arrays.binarySearch(sorted, column.getLong(row)) >= 0;
+            }
+            default -> {
+                return null;
+            }
+        }
+    }
+
+    private static IntPredicate compile(Source source, QueryModel.KeysetPredicate keyset) {
+        Column[] columns = new Column[keyset.columns().size()];
+        for (int i = 0; i < columns.length; i++) {
+            columns[i] = source.column(keyset.columns().get(i));
+        }
+        Object[] cursor = keyset.values().toArray();
+        boolean descending = keyset.order() == Order.DESCENDING;
+        return row -> {
+            for (int i = 0; i < columns.length; i++) {
+                Object cell = columns[i].get(row);
+                if (cell == null) {
+                    return false;
+                }
+                int compared = compare(cell, cursor[i]);
+                if (compared != 0) {
+                    return descending ? compared < 0 : compared > 0;
+                }
+            }
+            return false;
+        };
+    }
+
+    private static Comparator<Integer> comparator(Column column) {
+        if (column instanceof LongColumn numbers) {
+            return (a, b) -> Long.compare(numbers.getLong(a), numbers.getLong(b));
+        }
+        return (a, b) -> {
+            Object left = column.get(a);
+            Object right = column.get(b);
+            if (left == right) {
+                return 0;
+            }
+            if (left == null) {
+                return 1;
+            }
+            if (right == null) {
+                return -1;
+            }
+            return compare(left, right);
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    private static int compare(Object left, Object right) {
+        if (left instanceof Number a && right instanceof Number b) {
+            if (isIntegral(a) && isIntegral(b)) {
+                return Long.compare(a.longValue(), b.longValue());
+            }
+            return Double.compare(a.doubleValue(), b.doubleValue());
+        }
+        return ((Comparable<Object>) left).compareTo(right);
+    }
+
+    private static boolean isIntegral(Object value) {
+        return value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte;
+    }
+
+    private static Object normalize(Object value) {
+        return isIntegral(value) ? ((Number) value).longValue() : value;
+    }
+
+    private static List<?> elements(Object values) {
+        return switch (values) {
+            case int[] ints -> Arrays.stream(ints).boxed().toList();
+            case long[] longs -> Arrays.stream(longs).boxed().toList();
+            case Object[] objects -> Arrays.asList(objects);
+            case Collection<?> collection -> new ArrayList<>(collection);
+            default -> throw new IllegalArgumentException("Unsupported IN list type: " + values.getClass().getName());
+        };
+    }
+
+    private static Pattern likePattern(String like) {
+        StringBuilder regex = new StringBuilder(like.length() + 8);
+        int literalStart = 0;
+        for (int i = 0; i < like.length(); i++) {
+            char c = like.charAt(i);
+            if (c == '%' || c == '_') {
+                if (i > literalStart) {
+                    regex.append(Pattern.quote(like.substring(literalStart, i)));
+                }
+                regex.append(c == '%' ? ".*" : ".");
+                literalStart = i + 1;
+            }
+        }
+        if (literalStart < like.length()) {
+            regex.append(Pattern.quote(like.substring(literalStart)));
+        }
+        return Pattern.compile(regex.toString(), Pattern.DOTALL);
+    }
+
+    private static String normalizeColumn(String column) {
+        return column.substring(column.lastIndexOf('.') + 1).replace("_", "").toLowerCase(Locale.ROOT);
+    }
+
+    private static ColumnarTable checkTable(ColumnarTable table) {
+        if (table == null) {
+            throw new IllegalArgumentException("Table cannot be null");
+        }
+        return table;
+    }
+
+    private interface Column {
+        Object get(int row);
+    }
+
+    private interface LongColumn extends Column {
+        long getLong(int row);
+    }
+
+    private interface Source {
+        int size();
+
+        Column column(String name);
+    }
+
+    private static final class RecordSource implements Source {
+
+        private final List<? extends Record> rows;
+        private final Map<String, RecordComponent> components = new LinkedHashMap<>();
+
+        private RecordSource(List<? extends Record> rows) {
+            this.rows = rows;
+            for (RecordComponent component : rows.getFirst().getClass().getRecordComponents()) {
+                components.put(normalizeColumn(component.getName()), component);
+            }
+        }
+
+        @Override
+        public int size() {
+            return rows.size();
+        }
+
+        @Override
+        public Column column(String name) {
+            RecordComponent component = components.get(normalizeColumn(name));
+            if (component == null) {
+                throw new IllegalArgumentException("No record component matches column " + name);
+            }
+            MethodHandle accessor;
+            try {
+                accessor = MethodHandles.privateLookupIn(component.getDeclaringRecord(), MethodHandles.lookup())
+                        .unreflect(component.getAccessor())
+                        .asType(MethodType.methodType(Object.class, Object.class));
+            } catch (IllegalAccessException e) {
+                throw new IllegalArgumentException("Record component %s is not accessible".formatted(name), e);
+            }
+            return row -> {
+                try {
+                    return (Object) accessor.invokeExact((Object) rows.get(row));
+                } catch (RuntimeException | Error e) {
+                    throw e;
+                } catch (Throwable e) {
+                    throw new IllegalStateException(e);
+                }
+            };
+        }
+
+    }
+
+    private record ColumnarSource(ColumnarTable table) implements Source {
+
+        @Override
+        public int size() {
+            return table.rowCount();
+        }
+
+        @Override
+        public Column column(String name) {
+            Object values = table.column(name);
+            if (values == null) {
+                String normalized = normalizeColumn(name);
+                for (String candidate : table.columnNames()) {
+                    if (normalizeColumn(candidate).equals(normalized)) {
+                        values = table.column(candidate);
+                        break;
+                    }
+                }
+            }
+            return switch (values) {
+                case int[] ints -> new LongColumn() {
+                    public long getLong(int row) {
+                        return ints[row];
+                    }
+
+                    public Object get(int row) {
+                        return ints[row];
+                    }
+                };
+                case long[] longs -> new LongColumn() {
+                    public long getLong(int row) {
+                        return longs[row];
+                    }
+
+                    public Object get(int row) {
+                        return longs[row];
+                    }
+                };
+                case double[] doubles -> row -> doubles[row];
+                case Object[] objects -> row -> objects[row];
+                case null -> throw new IllegalArgumentException("No column matches " + name);
+                default -> throw new IllegalStateException("Unsupported column type " + values.getClass().getName());
+            };
+        }
+
+    }
+
+}
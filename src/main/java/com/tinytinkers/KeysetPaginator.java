@@ -0,0 +1,67 @@
+package com.tinytinkers;
+
+import com.tinytinkers.enums.KeysetStyle;
+import com.tinytinkers.enums.Order;
+
+import java.util.Arrays;
+import java.util.List;
+
+public final class KeysetPaginator {
+
+    private final ImmutableQueryBuilder base;
+    private final List<String> columns;
+    private final Order order;
+    private final KeysetStyle style;
+    private final int pageSize;
+
+    private KeysetPaginator(ImmutableQueryBuilder base, List<String> columns, Order order, KeysetStyle style, int pageSize) {
+        this.base = base;
+        this.columns = columns;
+        this.order = order;
+        this.style = style;
+        this.pageSize = pageSize;
+    }
+
+    public static KeysetPaginator of(DynamicQueryBuilder base, List<String> columns, Order order, int pageSize) {
+        if (base == null) {
+            throw new IllegalArgumentException("Base query cannot be null");
+        }
+        return of(base.toImmutable(), columns, order, KeysetStyle.ROW_VALUE, pageSize);
+    }
+
+    public static KeysetPaginator of(ImmutableQueryBuilder base, List<String> columns, Order order, KeysetStyle style, int pageSize) {
+        if (base == null || columns == null || columns.isEmpty() || order == null || style == null) {
+            throw new IllegalArgumentException("Base query, keyset columns, order and style cannot be null or empty");
+        }
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("Page size must be greater than zero");
+        }
+        base.toBuilder().after(columns, null, order, style);
+        return new KeysetPaginator(base, List.copyOf(columns), order, style, pageSize);
+    }
+
+    public DynamicQueryBuilder firstPage() {
+        return page(null);
+    }
+
+    public DynamicQueryBuilder nextPage(Object... lastRowKeys) {
+        if (lastRowKeys == null) {
+            throw new IllegalArgumentException("Last row keys cannot be null");
+        }
+        return page(Arrays.asList(lastRowKeys));
+    }
+
+    public DynamicQueryBuilder nextPage(List<?> lastRowKeys) {
+        if (lastRowKeys == null) {
+            throw new IllegalArgumentException("Last row keys cannot be null");
+        }
+        return page(lastRowKeys);
+    }
+
+    private DynamicQueryBuilder page(List<?> lastRowKeys) {
+        return base.toBuilder()
+                .after(columns, lastRowKeys, order, style)
+                .limit(pageSize);
+    }
+
+}
@@ -0,0 +1,17 @@
+package com.tinytinkers;
+
+import com.tinytinkers.enums.LintRule;
+import com.tinytinkers.enums.LintSeverity;
+
+public record LintWarning(
+        LintRule rule,
+        LintSeverity severity,
+        String message,
+        String suggestion
+) {
+    @Override
+    public String toString() {
+        return "%s %s: %s. %s".formatted(severity, rule, message, suggestion);
+    }
+
+}
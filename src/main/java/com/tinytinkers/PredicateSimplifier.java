@@ -0,0 +1,419 @@
+package com.tinytinkers;
+
+import com.tinytinkers.structures.Pair;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+import static com.tinytinkers.constants.Operators.*;
+
+/**
+ * Merges the conditions on each column of a conjunction and detects contradictions. Bounds are merged only when they
+ * can be ordered without knowing the column type or collation: Integer, Long, Short and Byte values compare as one
+ * integral type, other values only with values of their own class, and Strings only by equality. Exclusive bounds stay
+ * exclusive, since {@code price > 5 AND price < 6} is satisfiable for non-integer columns. Anything that cannot be
+ * decided is kept as written.
+ */
+final class PredicateSimplifier {
+
+    record Simplification(
+            List<QueryModel.Predicate> predicates,
+            boolean contradiction
+    ) { }
+
+    private static final Simplification CONTRADICTION = new Simplification(List.of(), true);
+
+    private PredicateSimplifier() { }
+
+    static Simplification simplify(List<QueryModel.Predicate> predicates) {
+        Map<String, List<QueryModel.ColumnPredicate>> byColumn = new LinkedHashMap<>();
+        List<QueryModel.Predicate> passthrough = new ArrayList<>();
+        for (QueryModel.Predicate predicate : predicates) {
+            if (predicate instanceof QueryModel.ColumnPredicate column && isSimplifiable(column.condition())) {
+                byColumn.computeIfAbsent(column.column(), key -> new ArrayList<>()).add(column);
+            } else {
+                passthrough.add(predicate);
+            }
+        }
+
+        List<QueryModel.Predicate> simplified = new ArrayList<>(predicates.size());
+        for (Map.Entry<String, List<QueryModel.ColumnPredicate>> entry : byColumn.entrySet()) {
+            if (!new ColumnSimplifier(entry.getKey()).simplify(entry.getValue(), simplified)) {
+                return CONTRADICTION;
+            }
+        }
+        simplified.addAll(passthrough);
+        return new Simplification(simplified, false);
+    }
+
+    private static boolean isSimplifiable(Condition<?> condition) {
+        return switch (condition.operator()) {
+            case EQUALS, GREATER_THAN, LESS_THAN, IN -> true;
+            case BETWEEN -> condition.value() instanceof Pair<?, ?>;
+            default -> false;
+        };
+    }
+
+    private static final class ColumnSimplifier {
+
+        private final String column;
+        private final List<QueryModel.ColumnPredicate> unmerged = new ArrayList<>();
+        private Object equalTo;
+        private boolean hasEquality;
+        private Object inList;
+        private Bound lower;
+        private Bound upper;
+
+        private ColumnSimplifier(String column) {
+            this.column = column;
+        }
+
+        private boolean simplify(List<QueryModel.ColumnPredicate> predicates, List<QueryModel.Predicate> simplified) {
+            for (QueryModel.ColumnPredicate predicate : predicates) {
+                if (!accept(predicate)) {
+                    return false;
+                }
+            }
+
+            if (inList != null) {
+                int size = QueryModel.inListSize(inList);
+                if (size == 0) {
+                    return false;
+                }
+                if (size == 1) {
+                    if (!acceptEquality(firstElement(inList))) {
+                        return false;
+                    }
+                    inList = null;
+                } else if (hasEquality) {
+                    Boolean member = contains(inList, equalTo);
+                    if (Boolean.FALSE.equals(member)) {
+                        return false;
+                    }
+                    if (Boolean.TRUE.equals(member)) {
+                        inList = null;
+                    }
+                }
+            }
+
+            if (hasEquality) {
+                Boolean inRange = within(equalTo);
+                if (Boolean.FALSE.equals(inRange)) {
+                    return false;
+                }
+                simplified.add(predicate(EQUALS, equalTo));
+                if (inList != null) {
+                    simplified.add(predicate(IN, inList));
+                }
+                if (inRange == null && !emitRange(simplified)) {
+                    return false;
+                }
+                simplified.addAll(unmerged);
+                return true;
+            }
+
+            if (inList != null) {
+                if (inList instanceof List<?> values && (lower != null || upper != null)) {
+                    List<Object> inRange = new ArrayList<>(values.size());
+                    boolean undecided = false;
+                    for (Object value : values) {
+                        Boolean within = within(value);
+                        undecided |= within == null;
+                        if (!Boolean.FALSE.equals(within)) {
+                            inRange.add(value);
+                        }
+                    }
+                    if (inRange.isEmpty()) {
+                        return false;
+                    }
+                    if (!undecided) {
+                        lower = null;
+                        upper = null;
+                    }
+                    inList = inRange;
+                }
+                simplified.add(QueryModel.inListSize(inList) == 1
+                        ? predicate(EQUALS, firstElement(inList))
+                        : predicate(IN, inList));
+            }
+
+            if (!emitRange(simplified)) {
+                return false;
+            }
+            simplified.addAll(unmerged);
+            return true;
+        }
+
+        private boolean accept(QueryModel.ColumnPredicate predicate) {
+            Condition<?> condition = predicate.condition();
+            Object value = condition.value();
+            switch (condition.operator()) {
+                case EQUALS -> {
+                    return acceptEquality(value);
+                }
+                case IN -> {
+                    Object deduplicated = deduplicate(value);
+                    if (deduplicated == null) {
+                        keep(predicate);
+                    } else if (inList == null) {
+                        inList = deduplicated;
+                    } else if (inList instanceof List<?> current && deduplicated instanceof List<?> values) {
+                        List<Object> intersection = intersect(current, values);
+                        if (intersection == null) {
+                            keep(predicate);
+                        } else {
+                            inList = intersection;
+                        }
+                    } else {
+                        keep(predicate);
+                    }
+                    return true;
+                }
+                case GREATER_THAN -> {
+                    return tightenLower(new Bound(value, false, predicate), predicate);
+                }
+                case LESS_THAN -> {
+                    return tightenUpper(new Bound(value, false, predicate), predicate);
+                }
+                default -> {
+                    Pair<?, ?> range = (Pair<?, ?>) value;
+                    return tightenLower(new Bound(range.getFirst(), true, predicate), predicate)
+                           && tightenUpper(new Bound(range.getSecond(), true, predicate), predicate);
+                }
+            }
+        }
+
+        private boolean acceptEquality(Object value) {
+            if (hasEquality) {
+                Integer comparison = compare(equalTo, value);
+                if (comparison == null) {
+                    unmerged.add(predicate(EQUALS, value));
+                    return true;
+                }
+                return comparison == 0;
+            }
+            hasEquality = true;
+            equalTo = value;
+            return true;
+        }
+
+        private boolean tightenLower(Bound candidate, QueryModel.ColumnPredicate predicate) {
+            if (lower == null) {
+                lower = candidate;
+                return true;
+            }
+            Integer comparison = compare(candidate.value(), lower.value());
+            if (comparison == null) {
+                keep(predicate);
+            } else if (comparison > 0 || (comparison == 0 && !candidate.inclusive())) {
+                lower = candidate;
+            }
+            return true;
+        }
+
+        private boolean tightenUpper(Bound candidate, QueryModel.ColumnPredicate predicate) {
+            if (upper == null) {
+                upper = candidate;
+                return true;
+            }
+            Integer comparison = compare(candidate.value(), upper.value());
+            if (comparison == null) {
+                keep(predicate);
+            } else if (comparison < 0 || (comparison == 0 && !candidate.inclusive())) {
+                upper = candidate;
+            }
+            return true;
+        }
+
+        private Boolean within(Object value) {
+            boolean decided = true;
+            if (lower != null) {
+                Integer comparison = compare(value, lower.value());
+                if (comparison == null) {
+                    decided = false;
+                } else if (comparison < 0 || (comparison == 0 && !lower.inclusive())) {
+                    return false;
+                }
+            }
+            if (upper != null) {
+                Integer comparison = compare(value, upper.value());
+                if (comparison == null) {
+                    decided = false;
+                } else if (comparison > 0 || (comparison == 0 && !upper.inclusive())) {
+                    return false;
+                }
+            }
+            return decided ? Boolean.TRUE : null;
+        }
+
+        private boolean emitRange(List<QueryModel.Predicate> simplified) {
+            if (lower == null && upper == null) {
+                return true;
+            }
+            if (lower == null || upper == null) {
+                simplified.add(lower != null ? lowerPredicate() : upperPredicate());
+                return true;
+            }
+
+            boolean inclusive = lower.inclusive() && upper.inclusive();
+            Integer comparison = compare(lower.value(), upper.value());
+            if (comparison != null && (comparison > 0 || (comparison == 0 && !inclusive))) {
+                return false;
+            }
+            if (comparison != null && inclusive) {
+                simplified.add(comparison == 0
+                        ? predicate(EQUALS, lower.value())
+                        : predicate(BETWEEN, Pair.of(lower.value(), upper.value())));
+                return true;
+            }
+
+            simplified.add(lowerPredicate());
+            simplified.add(upperPredicate());
+            return true;
+        }
+
+        private QueryModel.ColumnPredicate lowerPredicate() {
+            return lower.inclusive() ? predicate(GREATER_THAN_OR_EQUAL, lower.value()) : lower.source();
+        }
+
+        private QueryModel.ColumnPredicate upperPredicate() {
+            return upper.inclusive() ? predicate(LESS_THAN_OR_EQUAL, upper.value()) : upper.source();
+        }
+
+        private void keep(QueryModel.ColumnPredicate predicate) {
+            if (unmerged.isEmpty() || unmerged.getLast() != predicate) {
+                unmerged.add(predicate);
+            }
+        }
+
+        private QueryModel.ColumnPredicate predicate(String operator, Object value) {
+            return new QueryModel.ColumnPredicate(column, new Condition<>(operator, value));
+        }
+
+    }
+
+    private record Bound(
+            Object value,
+            boolean inclusive,
+            QueryModel.ColumnPredicate source
+    ) { }
+
+    /**
+     * Returns null when the order of the two values depends on the column type or collation.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Integer compare(Object first, Object second) {
+        Object left = normalize(first);
+        Object right = normalize(second);
+        if (left == null || right == null || left.getClass() != right.getClass() || !(left instanceof Comparable)) {
+            return null;
+        }
+        if (left instanceof String) {
+            return left.equals(right) ? 0 : null;
+        }
+        return ((Comparable) left).compareTo(right);
+    }
+
+    private static Object normalize(Object value) {
+        return switch (value) {
+            case Integer integer -> integer.longValue();
+            case Short shortValue -> shortValue.longValue();
+            case Byte byteValue -> byteValue.longValue();
+            case Double doubleValue when doubleValue == 0.0d -> 0.0d;
+            case Float floatValue when floatValue == 0.0f -> 0.0f;
+            case null, default -> value;
+        };
+    }
+
+    private static List<Object> intersect(List<?> first, List<?> second) {
+        List<Object> intersection = new ArrayList<>(first.size());
+        for (Object element : first) {
+            Boolean member = contains(second, element);
+            if (member == null) {
+                return null;
+            }
+            if (member) {
+                intersection.add(element);
+            }
+        }
+        return intersection;
+    }
+
+    private static Object deduplicate(Object values) {
+        return switch (values) {
+            case List<?> list -> new ArrayList<>(new LinkedHashSet<>(list));
+            case String[] strings -> new LinkedHashSet<>(Arrays.asList(strings)).toArray(String[]::new);
+            case int[] ints -> {
+                int[] sorted = ints.clone();
+                Arrays.sort(sorted);
+                int unique = 0;
+                for (int i = 0; i < sorted.length; i++) {
+                    if (i == 0 || sorted[i] != sorted[unique - 1]) {
+                        sorted[unique++] = sorted[i];
+                    }
+                }
+                yield Arrays.copyOf(sorted, unique);
+            }
+            case long[] longs -> {
+                long[] sorted = longs.clone();
+                Arrays.sort(sorted);
+                int unique = 0;
+                for (int i = 0; i < sorted.length; i++) {
+                    if (i == 0 || sorted[i] != sorted[unique - 1]) {
+                        sorted[unique++] = sorted[i];
+                    }
+                }
+                yield Arrays.copyOf(sorted, unique);
+            }
+            case null, default -> null;
+        };
+    }
+
+    private static Object firstElement(Object values) {
+        return switch (values) {
+            case List<?> list -> list.getFirst();
+            case String[] strings -> strings[0];
+            case int[] ints -> ints[0];
+            case long[] longs -> longs[0];
+            default -> throw new IllegalArgumentException("Unsupported IN list type: " + values.getClass().getName());
+        };
+    }
+
+    private static Boolean contains(Object values, Object value) {
+        switch (values) {
+            case List<?> list -> {
+                boolean decided = true;
+                for (Object element : list) {
+                    Integer comparison = compare(element, value);
+                    if (comparison == null) {
+                        decided = false;
+                    } else if (comparison == 0) {
+                        return true;
+                    }
+                }
+                return decided ? Boolean.FALSE : null;
+            }
+            case String[] strings -> {
+                return Arrays.asList(strings).contains(value) ? Boolean.TRUE : null;
+            }
+            case int[] ints -> {
+                if (!(normalize(value) instanceof Long longValue)) {
+                    return null;
+                }
+                long candidate = longValue;
+                return candidate == (int) candidate && Arrays.binarySearch(ints, (int) candidate) >= 0;
+            }
+            case long[] longs -> {
+                return normalize(value) instanceof Long longValue ? Arrays.binarySearch(longs, longValue) >= 0 : null;
+            }
+            default -> {
+                return null;
+            }
+        }
+    }
+
+}
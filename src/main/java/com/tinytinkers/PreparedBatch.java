@@ -0,0 +1,13 @@
+package com.tinytinkers;
+
+import java.util.List;
+
+public record PreparedBatch(
+        String sql,
+        List<Object[]> rows
+) {
+    public PreparedBatch {
+        rows = List.copyOf(rows);
+    }
+
+}
@@ -0,0 +1,15 @@
+package com.tinytinkers;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+public record PreparedQuery(
+        String sql,
+        List<Object> binds
+) {
+    public PreparedQuery {
+        binds = Collections.unmodifiableList(new ArrayList<>(binds));
+    }
+
+}
@@ -0,0 +1,21 @@
+package com.tinytinkers;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+public class QueryLintException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final transient List<LintWarning> warnings;
+
+    public QueryLintException(List<LintWarning> warnings) {
+        super(warnings.stream().map(LintWarning::toString).collect(Collectors.joining("\n", "Query failed lint:\n", "")));
+        this.warnings = List.copyOf(warnings);
+    }
+
+    public List<LintWarning> warnings() {
+        return warnings;
+    }
+
+}
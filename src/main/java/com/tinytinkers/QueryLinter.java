@@ -0,0 +1,219 @@
+package com.tinytinkers;
+
+import com.tinytinkers.enums.LintRule;
+import com.tinytinkers.enums.LintSeverity;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.tinytinkers.constants.Operators.*;
+
+/**
+ * Inspects a built query for patterns that are predictably slow: leading-wildcard LIKE, {@code SELECT *}, large
+ * OFFSETs, ORDER BY without LIMIT, large IN lists not covered by an {@link InListPolicy}, and joins without a WHERE
+ * condition on the driving table. Derived tables, nested subqueries and common tables are inspected too; {@code SELECT *}
+ * inside EXISTS is not reported.
+ * <p>
+ * {@link #check} throws a {@link QueryLintException} for findings at or above the failure severity, which is ERROR by
+ * default and WARNING in {@link #strict()} mode, so a test suite can fail on regressions.
+ */
+public final class QueryLinter {
+
+    static final int DEFAULT_OFFSET_THRESHOLD = 1000;
+    static final int DEFAULT_IN_LIST_THRESHOLD = 1000;
+
+    private final Map<LintRule, LintSeverity> severities;
+    private final LintSeverity failOn;
+    private final int offsetThreshold;
+    private final int inListThreshold;
+
+    private QueryLinter(Map<LintRule, LintSeverity> severities, LintSeverity failOn, int offsetThreshold,
+                        int inListThreshold) {
+        this.severities = severities;
+        this.failOn = failOn;
+        this.offsetThreshold = offsetThreshold;
+        this.inListThreshold = inListThreshold;
+    }
+
+    public static QueryLinter of() {
+        Map<LintRule, LintSeverity> severities = new EnumMap<>(LintRule.class);
+        for (LintRule rule : LintRule.values()) {
+            severities.put(rule, rule.getDefaultSeverity());
+        }
+        return new QueryLinter(Collections.unmodifiableMap(severities), LintSeverity.ERROR,
+                DEFAULT_OFFSET_THRESHOLD, DEFAULT_IN_LIST_THRESHOLD);
+    }
+
+    public QueryLinter strict() {
+        return new QueryLinter(severities, LintSeverity.WARNING, offsetThreshold, inListThreshold);
+    }
+
+    public QueryLinter withSeverity(LintRule rule, LintSeverity severity) {
+        if (rule == null || severity == null) {
+            throw new IllegalArgumentException("Lint rule and severity cannot be null");
+        }
+        Map<LintRule, LintSeverity> updated = new EnumMap<>(severities);
+        updated.put(rule, severity);
+        return new QueryLinter(Collections.unmodifiableMap(updated), failOn, offsetThreshold, inListThreshold);
+    }
+
+    public QueryLinter ignoring(LintRule rule) {
+        if (rule == null) {
+            throw new IllegalArgumentException("Lint rule cannot be null");
+        }
+        Map<LintRule, LintSeverity> updated = new EnumMap<>(severities);
+        updated.remove(rule);
+        return new QueryLinter(Collections.unmodifiableMap(updated), failOn, offsetThreshold, inListThreshold);
+    }
+
+    public QueryLinter withOffsetThreshold(int offsetThreshold) {
+        if (offsetThreshold <= 0) {
+            throw new IllegalArgumentException("Offset threshold must be greater than zero");
+        }
+        return new QueryLinter(severities, failOn, offsetThreshold, inListThreshold);
+    }
+
+    public QueryLinter withInListThreshold(int inListThreshold) {
+        if (inListThreshold <= 0) {
+            throw new IllegalArgumentException("IN list threshold must be greater than zero");
+        }
+        return new QueryLinter(severities, failOn, offsetThreshold, inListThreshold);
+    }
+
+    public List<LintWarning> analyze(DynamicQueryBuilder query) {
+        if (query == null) {
+            throw new IllegalArgumentException("Query cannot be null");
+        }
+        List<LintWarning> warnings = new ArrayList<>();
+        inspect(query.share(), false, warnings);
+        return List.copyOf(warnings);
+    }
+
+    public List<LintWarning> analyze(ImmutableQueryBuilder query) {
+        if (query == null) {
+            throw new IllegalArgumentException("Query cannot be null");
+        }
+        return analyze(query.toBuilder());
+    }
+
+    public DynamicQueryBuilder check(DynamicQueryBuilder query) {
+        List<LintWarning> failures = new ArrayList<>();
+        for (LintWarning warning : analyze(query)) {
+            if (warning.severity().compareTo(failOn) >= 0) {
+                failures.add(warning);
+            }
+        }
+        if (!failures.isEmpty()) {
+            throw new QueryLintException(failures);
+        }
+        return query;
+    }
+
+    private void inspect(QueryModel model, boolean inExists, List<LintWarning> warnings) {
+        for (QueryModel.CommonTable commonTable : model.commonTables) {
+            inspect(commonTable.query(), false, warnings);
+        }
+        if (model.selection == QueryModel.Selection.ALL && !inExists) {
+            String from = model.table != null ? model.table : model.sourceAlias != null ? model.sourceAlias : model.subqueryAlias;
+            report(warnings, LintRule.SELECT_ALL,
+                    "SELECT * on " + from + " reads every column and rules out covering indexes",
+                    "List the needed columns with selectSpecificColumnsFrom");
+        }
+        if (model.source != null) {
+            inspect(model.source, false, warnings);
+        }
+        if (model.subqueryModel != null) {
+            inspect(model.subqueryModel, false, warnings);
+        }
+        for (QueryModel.Predicate predicate : model.predicates) {
+            switch (predicate) {
+                case QueryModel.ColumnPredicate column -> inspect(model, column.column(), column.condition(), warnings);
+                case QueryModel.FilterPredicate filter -> inspect(model, filter.filter(), warnings);
+                case QueryModel.SubqueryPredicate subquery -> inspect(subquery.query(), subquery.column() == null, warnings);
+                case QueryModel.KeysetPredicate ignored -> { }
+            }
+        }
+        if (!model.joins.isEmpty() && model.table != null && !filtersDrivingTable(model)) {
+            report(warnings, LintRule.UNFILTERED_JOIN,
+                    "Join from " + model.table + " has no WHERE condition on " + model.table,
+                    "Filter the driving table so the join starts from a selective set, or add limit()");
+        }
+        if (!model.orderings.isEmpty() && model.limit <= 0) {
+            report(warnings, LintRule.ORDER_BY_WITHOUT_LIMIT,
+                    "ORDER BY without LIMIT sorts the whole result",
+                    "Add limit(), or drop orderBy if callers do not need ordered rows");
+        }
+        if (model.offset >= offsetThreshold) {
+            report(warnings, LintRule.LARGE_OFFSET,
+                    "OFFSET " + model.offset + " reads and discards " + model.offset + " rows",
+                    "Page with after(...) keyset pagination on the ORDER BY columns");
+        }
+    }
+
+    private void inspect(QueryModel model, Filter filter, List<LintWarning> warnings) {
+        switch (filter) {
+            case Filter.Match match -> inspect(model, match.column(), match.condition(), warnings);
+            case Filter.All all -> all.filters().forEach(child -> inspect(model, child, warnings));
+            case Filter.Any any -> any.filters().forEach(child -> inspect(model, child, warnings));
+        }
+    }
+
+    private void inspect(QueryModel model, String column, Condition<?> condition, List<LintWarning> warnings) {
+        String operator = condition.operator();
+        Object value = condition.value();
+        if ((LIKE.equals(operator) || NOT_LIKE.equals(operator))
+            && value instanceof String pattern && pattern.startsWith(PERCENT_SIGN)) {
+            report(warnings, LintRule.LEADING_WILDCARD,
+                    column + operator + "'" + pattern + "' cannot use an index on " + column,
+                    "Use Condition.beginLike for prefix searches, or back substring search with a trigram or full-text index");
+        }
+        int size = QueryModel.inListSize(value);
+        boolean rewritten = IN.equals(operator) && model.inListPolicy != null && size > model.inListPolicy.maxSize();
+        if (size > inListThreshold && !rewritten) {
+            report(warnings, LintRule.LARGE_IN_LIST,
+                    column + operator + "list has " + size + " values",
+                    "Set an inListPolicy such as InListPolicy.unnestJoin so the list binds as one array");
+        }
+    }
+
+    private static boolean filtersDrivingTable(QueryModel model) {
+        String driving = model.alias != null ? model.alias : model.table;
+        for (QueryModel.Predicate predicate : model.predicates) {
+            boolean filters = switch (predicate) {
+                case QueryModel.ColumnPredicate column -> isDrivingColumn(column.column(), driving);
+                case QueryModel.KeysetPredicate keyset -> keyset.columns().stream().anyMatch(c -> isDrivingColumn(c, driving));
+                case QueryModel.FilterPredicate filter -> filtersDrivingTable(filter.filter(), driving);
+                case QueryModel.SubqueryPredicate subquery -> subquery.column() != null
+                                                              && isDrivingColumn(subquery.column(), driving);
+            };
+            if (filters) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean filtersDrivingTable(Filter filter, String driving) {
+        return switch (filter) {
+            case Filter.Match match -> isDrivingColumn(match.column(), driving);
+            case Filter.All all -> all.filters().stream().anyMatch(child -> filtersDrivingTable(child, driving));
+            case Filter.Any any -> any.filters().stream().allMatch(child -> filtersDrivingTable(child, driving));
+        };
+    }
+
+    private static boolean isDrivingColumn(String column, String driving) {
+        int dot = column.lastIndexOf('.');
+        return dot < 0 || column.substring(0, dot).equals(driving);
+    }
+
+    private void report(List<LintWarning> warnings, LintRule rule, String message, String suggestion) {
+        LintSeverity severity = severities.get(rule);
+        if (severity != null) {
+            warnings.add(new LintWarning(rule, severity, message, suggestion));
+        }
+    }
+
+}
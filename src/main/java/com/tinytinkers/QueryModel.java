@@ -0,0 +1,326 @@
+package com.tinytinkers;
+
+import com.tinytinkers.codec.ValueCodecs;
+import com.tinytinkers.enums.JoinType;
+import com.tinytinkers.enums.KeysetStyle;
+import com.tinytinkers.enums.Order;
+import com.tinytinkers.structures.PersistentList;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+final class QueryModel {
+
+    private static final String COUNT_QUERY_ALIAS = "count_query";
+    private static final String PAGE_QUERY_ALIAS = "page_query";
+
+    enum Selection {
+        NONE,
+        ALL,
+        COUNT,
+        COLUMNS
+    }
+
+    record Join(
+            JoinType joinType,
+            String table,
+            String onClause
+    ) { }
+
+    record CommonTable(
+            String name,
+            QueryModel query
+    ) { }
+
+    sealed interface Predicate permits ColumnPredicate, KeysetPredicate, FilterPredicate, SubqueryPredicate { }
+
+    record ColumnPredicate(
+            String column,
+            Condition<?> condition
+    ) implements Predicate { }
+
+    record KeysetPredicate(
+            List<String> columns,
+            List<Object> values,
+            Order order,
+            KeysetStyle style
+    ) implements Predicate { }
+
+    record FilterPredicate(
+            Filter filter
+    ) implements Predicate { }
+
+    /**
+     * {@code column IN (query)}, or {@code EXISTS (query)} when {@code column} is null.
+     */
+    record SubqueryPredicate(
+            String column,
+            QueryModel query
+    ) implements Predicate { }
+
+    record Ordering(
+            String column,
+            Order order
+    ) { }
+
+    Selection selection = Selection.NONE;
+    boolean distinct;
+    PersistentList<String> columns = PersistentList.empty();
+    String table;
+    String alias;
+    String subqueryAlias;
+    String subquery;
+    QueryModel subqueryModel;
+    PersistentList<CommonTable> commonTables = PersistentList.empty();
+    QueryModel source;
+    String sourceAlias;
+    PersistentList<Join> joins = PersistentList.empty();
+    PersistentList<Predicate> predicates = PersistentList.empty();
+    PersistentList<String> groupBy = PersistentList.empty();
+    PersistentList<String> having = PersistentList.empty();
+    PersistentList<Ordering> orderings = PersistentList.empty();
+    int limit;
+    int offset = -1;
+    InListPolicy inListPolicy;
+    boolean canonical;
+    boolean simplify;
+    String totalCountAlias;
+    ValueCodecs codecs;
+
+    boolean isEmpty() {
+        return selection == Selection.NONE
+               && subquery == null
+               && subqueryModel == null
+               && source == null
+               && joins.isEmpty()
+               && predicates.isEmpty()
+               && groupBy.isEmpty()
+               && having.isEmpty()
+               && orderings.isEmpty()
+               && limit <= 0
+               && offset < 0;
+    }
+
+    QueryModel copy() {
+        QueryModel copy = new QueryModel();
+        copy.selection = selection;
+        copy.distinct = distinct;
+        copy.columns = columns;
+        copy.table = table;
+        copy.alias = alias;
+        copy.subqueryAlias = subqueryAlias;
+        copy.subquery = subquery;
+        copy.subqueryModel = subqueryModel;
+        copy.commonTables = commonTables;
+        copy.source = source;
+        copy.sourceAlias = sourceAlias;
+        copy.joins = joins;
+        copy.predicates = predicates;
+        copy.groupBy = groupBy;
+        copy.having = having;
+        copy.orderings = orderings;
+        copy.limit = limit;
+        copy.offset = offset;
+        copy.inListPolicy = inListPolicy;
+        copy.canonical = canonical;
+        copy.simplify = simplify;
+        copy.totalCountAlias = totalCountAlias;
+        copy.codecs = codecs;
+        return copy;
+    }
+
+    QueryModel countQuery() {
+        QueryModel unpaged = unpaged();
+        PersistentList<Predicate> filters = PersistentList.empty();
+        for (Predicate predicate : unpaged.predicates) {
+            if (!(predicate instanceof KeysetPredicate)) {
+                filters = filters.append(predicate);
+            }
+        }
+        unpaged.predicates = filters;
+
+        if (!distinct && groupBy.isEmpty() && having.isEmpty()) {
+            unpaged.selection = Selection.COUNT;
+            unpaged.columns = PersistentList.empty();
+            return unpaged;
+        }
+        return derivedFrom(unpaged, COUNT_QUERY_ALIAS, Selection.COUNT);
+    }
+
+    QueryModel renderable() {
+        if (totalCountAlias == null || !distinct) {
+            return this;
+        }
+        QueryModel page = derivedFrom(unpaged(), PAGE_QUERY_ALIAS, Selection.ALL);
+        page.totalCountAlias = totalCountAlias;
+        for (Ordering ordering : orderings) {
+            String column = ordering.column();
+            page.orderings = page.orderings.append(
+                    new Ordering(column.substring(column.lastIndexOf('.') + 1), ordering.order()));
+        }
+        page.limit = limit;
+        page.offset = offset;
+        return page;
+    }
+
+    private QueryModel unpaged() {
+        QueryModel unpaged = copy();
+        unpaged.orderings = PersistentList.empty();
+        unpaged.limit = 0;
+        unpaged.offset = -1;
+        unpaged.totalCountAlias = null;
+        return unpaged;
+    }
+
+    private static QueryModel derivedFrom(QueryModel source, String alias, Selection selection) {
+        QueryModel derived = new QueryModel();
+        derived.selection = selection;
+        derived.source = source;
+        derived.sourceAlias = alias;
+        derived.canonical = source.canonical;
+        derived.codecs = source.codecs;
+        derived.commonTables = source.commonTables;
+        source.commonTables = PersistentList.empty();
+        return derived;
+    }
+
+    QueryModel forShard(Map<String, String> tables) {
+        QueryModel shard = withShardTables(tables);
+        if (limit > 0 && offset > 0) {
+            shard.limit = limit + offset;
+        }
+        shard.offset = -1;
+        return shard;
+    }
+
+    private QueryModel withShardTables(Map<String, String> tables) {
+        QueryModel shard = copy();
+        if (table != null && tables.containsKey(table)) {
+            shard.table = tables.get(table);
+            if (alias == null) {
+                shard.alias = table;
+            }
+        }
+        if (source != null) {
+            shard.source = source.withShardTables(tables);
+        }
+        if (subqueryModel != null) {
+            shard.subqueryModel = subqueryModel.withShardTables(tables);
+        }
+        PersistentList<CommonTable> shardCommonTables = PersistentList.empty();
+        for (CommonTable commonTable : commonTables) {
+            shardCommonTables = shardCommonTables.append(
+                    new CommonTable(commonTable.name(), commonTable.query().withShardTables(tables)));
+        }
+        shard.commonTables = shardCommonTables;
+        PersistentList<Join> shardJoins = PersistentList.empty();
+        for (Join join : joins) {
+            String physical = tables.get(join.table());
+            shardJoins = shardJoins.append(physical == null ? join
+                    : new Join(join.joinType(), physical + " AS " + join.table(), join.onClause()));
+        }
+        shard.joins = shardJoins;
+        PersistentList<Predicate> shardPredicates = PersistentList.empty();
+        for (Predicate predicate : predicates) {
+            shardPredicates = shardPredicates.append(predicate instanceof SubqueryPredicate subquery
+                    ? new SubqueryPredicate(subquery.column(), subquery.query().withShardTables(tables))
+                    : predicate);
+        }
+        shard.predicates = shardPredicates;
+        return shard;
+    }
+
+    void collectTables(Set<String> tables) {
+        Set<String> referenced = new LinkedHashSet<>();
+        if (table != null) {
+            referenced.add(table);
+        }
+        if (source != null) {
+            source.collectTables(referenced);
+        }
+        if (subqueryModel != null) {
+            subqueryModel.collectTables(referenced);
+        }
+        for (Join join : joins) {
+            referenced.add(join.table());
+        }
+        for (Predicate predicate : predicates) {
+            if (predicate instanceof SubqueryPredicate subquery) {
+                subquery.query().collectTables(referenced);
+            }
+        }
+        for (CommonTable commonTable : commonTables) {
+            commonTable.query().collectTables(referenced);
+        }
+        for (CommonTable commonTable : commonTables) {
+            referenced.remove(commonTable.name());
+        }
+        tables.addAll(referenced);
+    }
+
+    static int inListSize(Object value) {
+        return switch (value) {
+            case List<?> list -> list.size();
+            case int[] ints -> ints.length;
+            case long[] longs -> longs.length;
+            case String[] strings -> strings.length;
+            case null, default -> -1;
+        };
+    }
+
+    int estimateLength() {
+        int length = 32;
+        if (table != null) {
+            length += table.length();
+        }
+        for (String column : columns) {
+            length += column.length() + 1;
+        }
+        if (subquery != null) {
+            length += subquery.length() + subqueryAlias.length() + 4;
+        }
+        if (source != null) {
+            length += source.estimateLength() + sourceAlias.length() + 8;
+        }
+        if (subqueryModel != null) {
+            length += subqueryModel.estimateLength() + subqueryAlias.length() + 4;
+        }
+        for (CommonTable commonTable : commonTables) {
+            length += commonTable.query().estimateLength() + commonTable.name().length() + 8;
+        }
+        for (Join join : joins) {
+            length += join.table().length() + join.onClause().length() + 16;
+        }
+        for (Predicate predicate : predicates) {
+            switch (predicate) {
+                case ColumnPredicate column -> length += column.column().length() + 16
+                                                         + Math.max(0, inListSize(column.condition().value())) * 8;
+                case KeysetPredicate keyset -> length += keyset.columns().size() * keyset.columns().size() * 24;
+                case FilterPredicate filter -> length += estimateLength(filter.filter());
+                case SubqueryPredicate subquery -> length += subquery.query().estimateLength() + 16;
+            }
+        }
+        for (String column : groupBy) {
+            length += column.length() + 1;
+        }
+        for (String condition : having) {
+            length += condition.length() + 8;
+        }
+        for (Ordering ordering : orderings) {
+            length += ordering.column().length() + 6;
+        }
+        return length;
+    }
+
+    private static int estimateLength(Filter filter) {
+        return switch (filter) {
+            case Filter.Match match -> match.column().length() + 16
+                                       + Math.max(0, inListSize(match.condition().value())) * 8;
+            case Filter.All all -> all.filters().stream().mapToInt(QueryModel::estimateLength).sum() + 2;
+            case Filter.Any any -> any.filters().stream().mapToInt(QueryModel::estimateLength).sum() + 2;
+        };
+    }
+
+}
@@ -0,0 +1,285 @@
+package com.tinytinkers;
+
+import com.tinytinkers.enums.PlaceholderStyle;
+import com.tinytinkers.structures.PersistentList;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+import static com.tinytinkers.constants.Keywords.*;
+
+/**
+ * Combines many small independent queries into as few {@code UNION ALL} statements as possible, so they cost one
+ * round trip instead of one each.
+ * <p>
+ * Queries selecting explicit columns are combined with each other, as are COUNT queries and {@code SELECT *} queries
+ * on the same plain table. Each branch is prefixed with its query index and its position in its own ORDER BY, and the
+ * column lists are padded with NULLs so every branch has the same shape; the outer ORDER BY on those two columns
+ * keeps each query's rows in order. Branches share a column only when they select the same expression from the same
+ * plain table, or both count rows; every other column gets a position of its own, so the union never puts columns
+ * of different types in the same position. Window totals and DISTINCT
+ * queries with an ORDER BY run as statements of their own, as do queries whose ORDER BY the branch row window cannot
+ * repeat: ordering by a select-list alias, or a grouped query ordering by anything outside its GROUP BY.
+ */
+public final class QueryMultiplexer {
+
+    static final int DEFAULT_MAX_BRANCHES = 50;
+
+    private static final String BRANCH_INDEX = "branch_index";
+    private static final String BRANCH_ROW = "branch_row";
+    private static final Pattern SIMPLE_NAME = Pattern.compile("[a-z_][a-z0-9_]*");
+
+    /**
+     * One statement of the plan. Tagged statements return the query index and branch row ahead of each query's
+     * columns; {@link #queryIndex} and {@link #values} map a result row back to the query that produced it. Rows of
+     * {@code SELECT *} queries are returned with every column after the tag.
+     */
+    public static final class Statement {
+
+        private final PreparedQuery query;
+        private final int queryIndex;
+        private final int[][] columns;
+
+        private Statement(PreparedQuery query, int queryIndex, int[][] columns) {
+            this.query = query;
+            this.queryIndex = queryIndex;
+            this.columns = columns;
+        }
+
+        public PreparedQuery query() {
+            return query;
+        }
+
+        public boolean isTagged() {
+            return columns != null;
+        }
+
+        public int queryIndex(Object[] row) {
+            return columns == null ? queryIndex : ((Number) row[0]).intValue();
+        }
+
+        public Object[] values(Object[] row) {
+            if (columns == null) {
+                return row;
+            }
+            int[] positions = columns[queryIndex(row)];
+            if (positions.length == 0) {
+                return Arrays.copyOfRange(row, 2, row.length);
+            }
+            Object[] values = new Object[positions.length];
+            for (int i = 0; i < positions.length; i++) {
+                values[i] = row[positions[i]];
+            }
+            return values;
+        }
+
+    }
+
+    private final int queryCount;
+    private final List<Statement> statements;
+
+    private QueryMultiplexer(List<QueryModel> models, int maxBranches) {
+        Map<String, List<Integer>> groups = new LinkedHashMap<>();
+        for (int i = 0; i < models.size(); i++) {
+            groups.computeIfAbsent(groupKey(models.get(i), i), key -> new ArrayList<>()).add(i);
+        }
+
+        List<Statement> planned = new ArrayList<>();
+        for (List<Integer> group : groups.values()) {
+            for (int from = 0; from < group.size(); from += maxBranches) {
+                List<Integer> branch = group.subList(from, Math.min(group.size(), from + maxBranches));
+                planned.add(branch.size() == 1
+                        ? new Statement(SqlRenderer.renderPrepared(models.get(branch.getFirst()).renderable(),
+                                                                   new ArrayList<>(), PlaceholderStyle.QUESTION_MARK),
+                                        branch.getFirst(), null)
+                        : union(models, branch));
+            }
+        }
+        this.queryCount = models.size();
+        this.statements = List.copyOf(planned);
+    }
+
+    public static QueryMultiplexer of(List<DynamicQueryBuilder> queries) {
+        return of(queries, DEFAULT_MAX_BRANCHES);
+    }
+
+    public static QueryMultiplexer of(List<DynamicQueryBuilder> queries, int maxBranchesPerStatement) {
+        if (queries == null) {
+            throw new IllegalArgumentException("Queries cannot be null");
+        }
+        if (maxBranchesPerStatement <= 0) {
+            throw new IllegalArgumentException("Maximum branches must be greater than zero");
+        }
+        List<QueryModel> models = new ArrayList<>(queries.size());
+        for (DynamicQueryBuilder query : queries) {
+            if (query == null) {
+                throw new IllegalArgumentException("Query cannot be null");
+            }
+            QueryModel model = query.share();
+            if (model.isEmpty()) {
+                throw new IllegalArgumentException("Query could not be built after sanitization.");
+            }
+            models.add(model);
+        }
+        return new QueryMultiplexer(models, maxBranchesPerStatement);
+    }
+
+    public int queryCount() {
+        return queryCount;
+    }
+
+    public List<Statement> statements() {
+        return statements;
+    }
+
+    private static String groupKey(QueryModel model, int index) {
+        boolean plain = model.totalCountAlias == null
+                        && (model.orderings.isEmpty() || (!model.distinct && isWindowOrderable(model)));
+        return switch (model.selection) {
+            case COLUMNS -> plain ? "columns" : "query:" + index;
+            case COUNT -> plain ? "count" : "query:" + index;
+            case ALL -> plain && model.joins.isEmpty() && model.source == null && model.subquery == null
+                        && model.subqueryModel == null
+                    ? "all:" + model.table + ":" + model.alias
+                    : "query:" + index;
+            default -> "query:" + index;
+        };
+    }
+
+    private static boolean isWindowOrderable(QueryModel model) {
+        List<String> aliases = new ArrayList<>();
+        for (String column : model.columns) {
+            int alias = column.toUpperCase(Locale.ROOT).lastIndexOf(" AS ");
+            if (alias >= 0) {
+                aliases.add(column.substring(alias + 4).strip());
+            }
+        }
+        for (QueryModel.Ordering ordering : model.orderings) {
+            String column = ordering.column();
+            if (aliases.stream().anyMatch(column::equalsIgnoreCase)
+                || (!model.groupBy.isEmpty() && model.groupBy.stream().noneMatch(column::equalsIgnoreCase))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Statement union(List<QueryModel> models, List<Integer> branch) {
+        Map<String, Integer> positions = new LinkedHashMap<>();
+        List<String> padding = new ArrayList<>();
+        int[][] columns = new int[models.size()][];
+        for (int index : branch) {
+            QueryModel model = models.get(index);
+            List<String> names = outputNames(model);
+            List<String> expressions = model.selection == QueryModel.Selection.COUNT ? List.of(COUNT_ALL) : model.columns;
+            columns[index] = new int[names.size()];
+            for (int i = 0; i < names.size(); i++) {
+                String source = sourceKey(model, index, expressions.get(i));
+                Integer position = positions.get(source);
+                if (position == null) {
+                    position = positions.size() + 2;
+                    positions.put(source, position);
+                    padding.add(uniqueName(names.get(i), padding));
+                }
+                columns[index][i] = position;
+            }
+        }
+
+        List<QueryModel> branches = new ArrayList<>(branch.size());
+        for (int index : branch) {
+            QueryModel model = models.get(index);
+            String[] select;
+            if (model.selection == QueryModel.Selection.ALL) {
+                select = new String[]{null, null, (model.alias != null ? model.alias : model.table) + ".*"};
+            } else {
+                select = new String[positions.size() + 2];
+                List<String> expressions = model.selection == QueryModel.Selection.COUNT ? List.of(COUNT_ALL) : model.columns;
+                for (int i = 0; i < expressions.size(); i++) {
+                    select[columns[index][i]] = expressions.get(i);
+                }
+                for (int i = 2; i < select.length; i++) {
+                    if (select[i] == null) {
+                        String name = padding.get(i - 2);
+                        select[i] = NULL + AS + (SIMPLE_NAME.matcher(name).matches() ? name : "column_" + (i - 1));
+                    }
+                }
+            }
+            select[0] = index + AS + BRANCH_INDEX;
+            select[1] = rowNumber(model) + AS + BRANCH_ROW;
+
+            QueryModel tagged = model.copy();
+            tagged.selection = QueryModel.Selection.COLUMNS;
+            tagged.columns = PersistentList.empty();
+            for (String column : select) {
+                tagged.columns = tagged.columns.append(column);
+            }
+            branches.add(tagged);
+        }
+        return new Statement(SqlRenderer.renderUnionAll(branches, List.of(BRANCH_INDEX, BRANCH_ROW)), -1, columns);
+    }
+
+    private static String sourceKey(QueryModel model, int index, String expression) {
+        if (model.selection == QueryModel.Selection.COUNT) {
+            return "count";
+        }
+        boolean plainTable = model.joins.isEmpty() && model.source == null && model.subquery == null
+                             && model.subqueryModel == null;
+        return plainTable
+                ? "table:" + model.table + ":" + model.alias + ":" + expression
+                : "query:" + index + ":" + expression;
+    }
+
+    private static String uniqueName(String name, List<String> taken) {
+        String unique = name;
+        for (int occurrence = 2; taken.contains(unique); occurrence++) {
+            unique = name + "_" + occurrence;
+        }
+        return unique;
+    }
+
+    private static List<String> outputNames(QueryModel model) {
+        return switch (model.selection) {
+            case COLUMNS -> {
+                List<String> names = new ArrayList<>(model.columns.size());
+                for (String column : model.columns) {
+                    String name = outputName(column);
+                    int occurrence = 1;
+                    while (names.contains(occurrence == 1 ? name : name + "_" + occurrence)) {
+                        occurrence++;
+                    }
+                    names.add(occurrence == 1 ? name : name + "_" + occurrence);
+                }
+                yield names;
+            }
+            case COUNT -> List.of("row_count");
+            default -> List.of();
+        };
+    }
+
+    private static String outputName(String column) {
+        int alias = column.toUpperCase(Locale.ROOT).lastIndexOf(" AS ");
+        String name = alias >= 0 ? column.substring(alias + 4) : column.substring(column.lastIndexOf('.') + 1);
+        return name.strip().toLowerCase(Locale.ROOT);
+    }
+
+    private static String rowNumber(QueryModel model) {
+        if (model.orderings.isEmpty()) {
+            return "0";
+        }
+        StringBuilder rowNumber = new StringBuilder("ROW_NUMBER() OVER (ORDER BY ");
+        for (int i = 0; i < model.orderings.size(); i++) {
+            QueryModel.Ordering ordering = model.orderings.get(i);
+            if (i > 0) {
+                rowNumber.append(',');
+            }
+            rowNumber.append(ordering.column()).append(' ').append(ordering.order().getCode());
+        }
+        return rowNumber.append(')').toString();
+    }
+
+}
@@ -0,0 +1,65 @@
+package com.tinytinkers;
+
+import com.tinytinkers.enums.Order;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+public record QueryShape(
+        String table,
+        List<String> columns,
+        List<String> groupBy,
+        String orderColumn,
+        Order order,
+        int limit,
+        int offset
+) {
+    public QueryShape {
+        if (table == null || table.isBlank()) {
+            throw new IllegalArgumentException("Table name cannot be null or blank");
+        }
+        columns = columns == null ? List.of() : List.copyOf(columns);
+        groupBy = groupBy == null ? List.of() : List.copyOf(groupBy);
+    }
+
+    public static QueryShape selectFrom(String table) {
+        return new QueryShape(table, List.of(), List.of(), null, null, 0, -1);
+    }
+
+    public static QueryShape selectSpecificColumnsFrom(String table, String... columns) {
+        return new QueryShape(table, nonNull(columns), List.of(), null, null, 0, -1);
+    }
+
+    public QueryShape groupBy(String... columns) {
+        return new QueryShape(table, this.columns, nonNull(columns), orderColumn, order, limit, offset);
+    }
+
+    public QueryShape orderBy(String column, Order order) {
+        return new QueryShape(table, columns, groupBy, column, order, limit, offset);
+    }
+
+    public QueryShape limit(int limit) {
+        return new QueryShape(table, columns, groupBy, orderColumn, order, limit, offset);
+    }
+
+    public QueryShape offset(int offset) {
+        return new QueryShape(table, columns, groupBy, orderColumn, order, limit, offset);
+    }
+
+    DynamicQueryBuilder toBuilder(Map<String, Condition<?>> whereClauses) {
+        return DynamicQueryBuilder.of()
+                .selectSpecificColumnsFrom(table, columns.toArray(String[]::new))
+                .where(whereClauses)
+                .groupBy(groupBy.toArray(String[]::new))
+                .orderBy(orderColumn, order)
+                .limit(limit)
+                .offset(offset);
+    }
+
+    private static List<String> nonNull(String... values) {
+        return values == null ? List.of() : Arrays.stream(values).filter(Objects::nonNull).toList();
+    }
+
+}
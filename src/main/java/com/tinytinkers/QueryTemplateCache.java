@@ -0,0 +1,191 @@
+package com.tinytinkers;
+
+import com.tinytinkers.codec.ValueCodecs;
+import com.tinytinkers.enums.PlaceholderStyle;
+import com.tinytinkers.structures.Pair;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+public class QueryTemplateCache {
+
+    private final int maximumSize;
+    private final Map<TemplateKey, QueryTemplate> templates;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public QueryTemplateCache(int maximumSize) {
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("Maximum size must be greater than zero");
+        }
+        this.maximumSize = maximumSize;
+        this.templates = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<TemplateKey, QueryTemplate> eldest) {
+                if (size() > QueryTemplateCache.this.maximumSize) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    public PreparedQuery prepare(QueryShape shape, Map<String, Condition<?>> whereClauses) {
+        return prepare(shape, whereClauses, PlaceholderStyle.QUESTION_MARK);
+    }
+
+    public PreparedQuery prepare(QueryShape shape, Map<String, Condition<?>> whereClauses, PlaceholderStyle placeholderStyle) {
+        if (placeholderStyle == null) {
+            throw new IllegalArgumentException("Placeholder style cannot be null");
+        }
+        List<Map.Entry<String, Condition<?>>> slots = ConditionShape.sortedEntries(whereClauses);
+        QueryTemplate template = templateFor(shape, slots);
+
+        List<Object> binds = new ArrayList<>(template.bindCount());
+        for (Map.Entry<String, Condition<?>> slot : slots) {
+            flatten(slot.getValue().value(), binds);
+        }
+
+        StringBuilder sql = new StringBuilder(template.length() + binds.size() * 4);
+        String[] segments = template.segments();
+        for (int i = 0; i < segments.length; i++) {
+            sql.append(segments[i]);
+            if (i < binds.size()) {
+                sql.append(placeholderStyle.getCode());
+                if (placeholderStyle == PlaceholderStyle.NUMBERED) {
+                    sql.append(i + 1);
+                }
+            }
+        }
+        return new PreparedQuery(sql.toString(), binds);
+    }
+
+    public String render(QueryShape shape, Map<String, Condition<?>> whereClauses) {
+        List<Map.Entry<String, Condition<?>>> slots = ConditionShape.sortedEntries(whereClauses);
+        QueryTemplate template = templateFor(shape, slots);
+
+        List<Object> values = new ArrayList<>(template.bindCount());
+        for (Map.Entry<String, Condition<?>> slot : slots) {
+            flatten(slot.getValue().value(), values);
+        }
+
+        StringBuilder sql = new StringBuilder(template.length() + values.size() * 8 + 1);
+        String[] segments = template.segments();
+        for (int i = 0; i < segments.length; i++) {
+            sql.append(segments[i]);
+            if (i < values.size()) {
+                SqlRenderer.appendLiteral(sql, values.get(i));
+            }
+        }
+        return sql.append(';').toString();
+    }
+
+    public Stats stats() {
+        int size;
+        synchronized (templates) {
+            size = templates.size();
+        }
+        return new Stats(hits.sum(), misses.sum(), evictions.sum(), size);
+    }
+
+    public void clear() {
+        synchronized (templates) {
+            templates.clear();
+        }
+    }
+
+    private QueryTemplate templateFor(QueryShape shape, List<Map.Entry<String, Condition<?>>> slots) {
+        if (shape == null) {
+            throw new IllegalArgumentException("Query shape cannot be null");
+        }
+        TemplateKey key = new TemplateKey(shape, ConditionShape.shapesOf(slots));
+
+        QueryTemplate template;
+        synchronized (templates) {
+            template = templates.get(key);
+        }
+        if (template != null) {
+            hits.increment();
+            return template;
+        }
+
+        misses.increment();
+        template = compile(shape, slots);
+        synchronized (templates) {
+            QueryTemplate existing = templates.putIfAbsent(key, template);
+            return existing == null ? template : existing;
+        }
+    }
+
+    private static QueryTemplate compile(QueryShape shape, List<Map.Entry<String, Condition<?>>> slots) {
+        Map<String, Condition<?>> orderedClauses = new LinkedHashMap<>();
+        for (Map.Entry<String, Condition<?>> slot : slots) {
+            orderedClauses.put(slot.getKey(), slot.getValue());
+        }
+        PreparedQuery prepared = shape.toBuilder(orderedClauses).buildPrepared();
+
+        String sql = prepared.sql();
+        List<String> segments = new ArrayList<>(prepared.binds().size() + 1);
+        int segmentStart = 0;
+        for (int i = 0; i < sql.length(); i++) {
+            if (sql.charAt(i) == '?') {
+                segments.add(sql.substring(segmentStart, i));
+                segmentStart = i + 1;
+            }
+        }
+        segments.add(sql.substring(segmentStart));
+
+        if (segments.size() - 1 != prepared.binds().size()) {
+            throw new IllegalStateException("Query shape contains placeholder characters outside of bind positions.");
+        }
+        return new QueryTemplate(segments.toArray(String[]::new), prepared.binds().size(), sql.length());
+    }
+
+    private static void flatten(Object value, List<Object> binds) {
+        switch (value) {
+            case null -> binds.add(null);
+            case Pair<?, ?> pair -> {
+                flatten(pair.getFirst(), binds);
+                flatten(pair.getSecond(), binds);
+            }
+            case List<?> list -> list.forEach(element -> flatten(element, binds));
+            case int[] ints -> {
+                for (int element : ints) {
+                    binds.add(element);
+                }
+            }
+            case long[] longs -> {
+                for (long element : longs) {
+                    binds.add(element);
+                }
+            }
+            case String[] strings -> binds.addAll(Arrays.asList(strings));
+            default -> binds.add(ValueCodecs.defaults().toBind(value));
+        }
+    }
+
+    public record Stats(
+            long hits,
+            long misses,
+            long evictions,
+            int size
+    ) { }
+
+    private record TemplateKey(
+            QueryShape shape,
+            List<ConditionShape> slots
+    ) { }
+
+    private record QueryTemplate(
+            String[] segments,
+            int bindCount,
+            int length
+    ) { }
+
+}
@@ -0,0 +1,87 @@
+package com.tinytinkers;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+public final class Sanitizer {
+
+    private static final int MAX_CACHED_IDENTIFIERS = 4096;
+    private static final ConcurrentHashMap<String, String> IDENTIFIERS = new ConcurrentHashMap<>();
+
+    private Sanitizer() { }
+
+    public static String sanitizeIdentifier(String input) {
+        if (input == null) {
+            return "";
+        }
+        String cached = IDENTIFIERS.get(input);
+        if (cached != null) {
+            return cached;
+        }
+        String sanitized = sanitize(input, true);
+        if (IDENTIFIERS.size() < MAX_CACHED_IDENTIFIERS) {
+            IDENTIFIERS.putIfAbsent(input, sanitized);
+        }
+        return sanitized;
+    }
+
+    public static String sanitize(String input) {
+        return sanitize(input, true);
+    }
+
+    public static String stripUnsafe(String input) {
+        return sanitize(input, false);
+    }
+
+    private static String sanitize(String input, boolean escapeQuotes) {
+        if (input == null || input.isBlank()) {
+            return "";
+        }
+
+        int length = input.length();
+        boolean rewrite = false;
+        for (int i = 0; i < length && !rewrite; i++) {
+            char c = input.charAt(i);
+            rewrite = c == ';' || (escapeQuotes && c == '\'');
+        }
+        if (!rewrite) {
+            return trim(input);
+        }
+
+        StringBuilder sanitized = new StringBuilder(length + 8);
+        for (int i = 0; i < length; i++) {
+            char c = input.charAt(i);
+            if (c == ';') {
+                while (i + 1 < length && !isLineTerminator(input.charAt(i + 1))) {
+                    i++;
+                }
+            } else if (c == '\'' && escapeQuotes) {
+                sanitized.append("''");
+            } else {
+                sanitized.append(c);
+            }
+        }
+
+        int start = 0;
+        int end = sanitized.length();
+        while (start < end && sanitized.charAt(start) <= ' ') {
+            start++;
+        }
+        while (end > start && sanitized.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        return sanitized.substring(start, end);
+    }
+
+    private static String trim(String input) {
+        int length = input.length();
+        if (input.charAt(0) > ' ' && input.charAt(length - 1) > ' ') {
+            return input;
+        }
+        return input.trim();
+    }
+
+    private static boolean isLineTerminator(char c) {
+        return c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029';
+    }
+
+}
@@ -0,0 +1,673 @@
+package com.tinytinkers;
+
+import com.tinytinkers.codec.ValueCodecs;
+import com.tinytinkers.enums.InListStrategy;
+import com.tinytinkers.enums.KeysetStyle;
+import com.tinytinkers.enums.Order;
+import com.tinytinkers.enums.PlaceholderStyle;
+import com.tinytinkers.structures.Pair;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static com.tinytinkers.constants.Keywords.*;
+import static com.tinytinkers.constants.Operators.*;
+
+final class SqlRenderer {
+
+    private static final String PRETTY_SELECT = "\n SELECT ";
+    private static final String PRETTY_WHERE = "\n\t WHERE ";
+    private static final String PRETTY_AND = "\n\t\t AND ";
+    private static final String PRETTY_ORDER_BY = "\n\t ORDER BY ";
+    private static final String ALWAYS_FALSE = "1 = 0";
+    private static final String IN_LIST_SELECT = "(SELECT value FROM ";
+    private static final String PRETTY_RULE = "\n--------------------------------------------------------";
+
+    private static final Comparator<QueryModel.Predicate> CANONICAL_ORDER = Comparator
+            .comparingInt((QueryModel.Predicate predicate) -> switch (predicate) {
+                case QueryModel.ColumnPredicate ignored -> 0;
+                case QueryModel.FilterPredicate ignored -> 1;
+                case QueryModel.SubqueryPredicate ignored -> 2;
+                case QueryModel.KeysetPredicate ignored -> 3;
+            })
+            .thenComparing(predicate -> predicate instanceof QueryModel.ColumnPredicate column ? column.column() : "")
+            .thenComparing(predicate -> predicate instanceof QueryModel.ColumnPredicate column ? column.condition().operator() : "");
+
+    private final QueryModel model;
+    private final Appendable out;
+    private final StringBuilder buffer;
+    private final List<Object> binds;
+    private final PlaceholderStyle placeholderStyle;
+    private final boolean pretty;
+    private final boolean fingerprint;
+    private final boolean parameterized;
+    private final ValueCodecs codecs;
+    private boolean empty = true;
+    private List<QueryModel.Predicate> predicates;
+    private boolean contradiction;
+
+    private SqlRenderer(QueryModel model, Appendable out, List<Object> binds, PlaceholderStyle placeholderStyle, boolean pretty) {
+        this(model, out, binds, placeholderStyle, pretty, false);
+    }
+
+    private SqlRenderer(QueryModel model, Appendable out, List<Object> binds, PlaceholderStyle placeholderStyle,
+                        boolean pretty, boolean fingerprint) {
+        this(model, out, binds, placeholderStyle, pretty, fingerprint,
+                model != null && model.codecs != null ? model.codecs : ValueCodecs.defaults());
+    }
+
+    private SqlRenderer(QueryModel model, Appendable out, List<Object> binds, PlaceholderStyle placeholderStyle,
+                        boolean pretty, boolean fingerprint, ValueCodecs codecs) {
+        this.model = model;
+        this.out = out;
+        this.buffer = out instanceof StringBuilder stringBuilder ? stringBuilder : null;
+        this.binds = binds;
+        this.placeholderStyle = placeholderStyle;
+        this.pretty = pretty;
+        this.fingerprint = fingerprint;
+        this.parameterized = binds != null || fingerprint;
+        this.codecs = codecs;
+    }
+
+    static void render(QueryModel model, Appendable out) {
+        SqlRenderer renderer = new SqlRenderer(model, out, null, null, false);
+        renderer.renderQuery();
+        renderer.write(';');
+    }
+
+    static String renderPretty(QueryModel model) {
+        StringBuilder sql = new StringBuilder(model.estimateLength() + PRETTY_RULE.length() * 2 + 16);
+        SqlRenderer renderer = new SqlRenderer(model, sql, null, null, true);
+        renderer.write(PRETTY_RULE);
+        renderer.renderQuery();
+        return sql.append(';').append(PRETTY_RULE).toString();
+    }
+
+    static PreparedQuery renderPrepared(QueryModel model, List<Object> binds, PlaceholderStyle placeholderStyle) {
+        StringBuilder sql = new StringBuilder(model.estimateLength());
+        new SqlRenderer(model, sql, binds, placeholderStyle, false).renderQuery();
+        return new PreparedQuery(sql.toString(), binds);
+    }
+
+    static PreparedQuery renderUnionAll(List<QueryModel> branches, List<String> orderBy) {
+        int length = orderBy.size() * 16;
+        for (QueryModel branch : branches) {
+            length += branch.estimateLength() + UNION_ALL.length() + 2;
+        }
+        StringBuilder sql = new StringBuilder(length);
+        List<Object> binds = new ArrayList<>();
+        for (int i = 0; i < branches.size(); i++) {
+            if (i > 0) {
+                sql.append(UNION_ALL);
+            }
+            sql.append('(');
+            new SqlRenderer(branches.get(i), sql, binds, PlaceholderStyle.QUESTION_MARK, false).renderQuery();
+            sql.append(')');
+        }
+        for (int i = 0; i < orderBy.size(); i++) {
+            sql.append(i == 0 ? ORDER_BY : ",").append(orderBy.get(i));
+        }
+        return new PreparedQuery(sql.toString(), binds);
+    }
+
+    static String fingerprint(QueryModel model) {
+        Fingerprint fingerprint = new Fingerprint();
+        new SqlRenderer(model, fingerprint, null, PlaceholderStyle.QUESTION_MARK, false, true).renderQuery();
+        return fingerprint.toHex();
+    }
+
+    static void collectBinds(QueryModel model, List<Object> binds) {
+        new SqlRenderer(model, null, binds, PlaceholderStyle.QUESTION_MARK, false).renderQuery();
+    }
+
+    static void appendLiteral(StringBuilder sql, Object value) {
+        new SqlRenderer(null, sql, null, null, false).writeLiteral(value);
+    }
+
+    static void appendLiteral(StringBuilder sql, Object value, ValueCodecs codecs) {
+        new SqlRenderer(null, sql, null, null, false, false, codecs).writeLiteral(value);
+    }
+
+    static Object bindValue(Object value, ValueCodecs codecs) {
+        if (value == null || value instanceof String || value instanceof Integer || value instanceof Long) {
+            return value;
+        }
+        return codecs.toBind(value);
+    }
+
+    private void renderQuery() {
+        resolvePredicates();
+        renderWith();
+        renderSelect();
+        renderFrom();
+        renderJoins();
+        renderWhere();
+        renderGroupBy();
+        renderHaving();
+        renderOrderBy();
+        renderLimitAndOffset();
+    }
+
+    private void renderWith() {
+        List<QueryModel.CommonTable> commonTables = model.commonTables;
+        for (int i = 0; i < commonTables.size(); i++) {
+            write(i == 0 ? WITH : ", ");
+            write(commonTables.get(i).name());
+            write(AS);
+            write('(');
+            renderNested(commonTables.get(i).query());
+            write(')');
+        }
+        if (!commonTables.isEmpty() && !pretty) {
+            write(' ');
+        }
+    }
+
+    private void renderSelect() {
+        if (model.selection == QueryModel.Selection.NONE) {
+            return;
+        }
+        write(pretty ? PRETTY_SELECT : SELECT);
+        if (model.distinct) {
+            write(DISTINCT);
+        }
+        switch (model.selection) {
+            case ALL -> {
+                if (model.totalCountAlias != null) {
+                    write(model.source != null ? model.sourceAlias : model.alias != null ? model.alias : model.table);
+                    write('.');
+                }
+                write(ALL_COLUMNS);
+            }
+            case COUNT -> write(COUNT_ALL);
+            case COLUMNS -> writeList(model.columns);
+            default -> { }
+        }
+        if (model.totalCountAlias != null && model.selection != QueryModel.Selection.COUNT) {
+            write(", ");
+            write(COUNT_OVER);
+            write(AS);
+            write(model.totalCountAlias);
+        }
+    }
+
+    private void renderFrom() {
+        if (model.table != null) {
+            writeClause(FROM);
+            write(model.table);
+            if (model.alias != null) {
+                write(AS);
+                write(model.alias);
+            }
+        }
+        if (model.source != null) {
+            writeClause(FROM);
+            write('(');
+            renderNested(model.source);
+            write(')');
+            write(AS);
+            write(model.sourceAlias);
+        }
+        if (model.subquery != null || model.subqueryModel != null) {
+            writeClause(model.table != null ? ", (" : " (");
+            if (model.subquery != null) {
+                write(model.subquery);
+            } else {
+                renderNested(model.subqueryModel);
+            }
+            write(") ");
+            write(model.subqueryAlias);
+        }
+    }
+
+    private void renderNested(QueryModel query) {
+        SqlRenderer nested = new SqlRenderer(query.renderable(), out, binds, placeholderStyle, false, fingerprint);
+        nested.empty = false;
+        nested.renderQuery();
+    }
+
+    private void renderJoins() {
+        for (QueryModel.Join join : model.joins) {
+            writeClause(" ");
+            write(join.joinType().getCode());
+            write(JOIN);
+            write(join.table());
+            write(ON);
+            write(join.onClause());
+        }
+    }
+
+    private void renderInListSource(Object values, int size) {
+        write(IN_LIST_SELECT);
+        if (model.inListPolicy.strategy() == InListStrategy.VALUES_JOIN) {
+            write("(VALUES ");
+            int rows = fingerprint ? 1 : size;
+            for (int i = 0; i < rows; i++) {
+                if (i > 0) {
+                    write(',');
+                }
+                write('(');
+                writeElement(values, i);
+                write(')');
+            }
+            write(") AS v(value)");
+        } else {
+            write("UNNEST(");
+            if (parameterized) {
+                writePlaceholder(values instanceof List<?> list ? list.toArray() : values);
+            } else {
+                write("ARRAY[");
+                for (int i = 0; i < size; i++) {
+                    if (i > 0) {
+                        write(',');
+                    }
+                    writeElement(values, i);
+                }
+                write(']');
+            }
+            write(") AS u(value)");
+        }
+        write(')');
+    }
+
+    private void renderWhere() {
+        if (contradiction) {
+            writeClause(pretty ? PRETTY_WHERE : WHERE);
+            write(ALWAYS_FALSE);
+            return;
+        }
+        boolean first = true;
+        for (QueryModel.Predicate predicate : predicates) {
+            if (first) {
+                writeClause(pretty ? PRETTY_WHERE : WHERE);
+                first = false;
+            } else {
+                write(pretty ? PRETTY_AND : AND);
+            }
+            switch (predicate) {
+                case QueryModel.ColumnPredicate column -> renderPredicate(column);
+                case QueryModel.KeysetPredicate keyset -> renderKeyset(keyset);
+                case QueryModel.FilterPredicate filter -> renderFilter(filter.filter(), predicates.size() > 1);
+                case QueryModel.SubqueryPredicate subquery -> renderSubqueryPredicate(subquery);
+            }
+        }
+    }
+
+    private void renderSubqueryPredicate(QueryModel.SubqueryPredicate predicate) {
+        if (predicate.column() == null) {
+            write(EXISTS);
+        } else {
+            write(predicate.column());
+            write(IN);
+        }
+        write('(');
+        renderNested(predicate.query());
+        write(')');
+    }
+
+    private void renderFilter(Filter filter, boolean inConjunction) {
+        switch (filter) {
+            case Filter.Match match -> renderPredicate(new QueryModel.ColumnPredicate(match.column(), match.condition()));
+            case Filter.All all -> {
+                for (int i = 0; i < all.filters().size(); i++) {
+                    if (i > 0) {
+                        write(AND);
+                    }
+                    renderFilter(all.filters().get(i), true);
+                }
+            }
+            case Filter.Any any -> {
+                if (inConjunction) {
+                    write('(');
+                }
+                for (int i = 0; i < any.filters().size(); i++) {
+                    if (i > 0) {
+                        write(OR);
+                    }
+                    renderFilter(any.filters().get(i), false);
+                }
+                if (inConjunction) {
+                    write(')');
+                }
+            }
+        }
+    }
+
+    private void resolvePredicates() {
+        predicates = model.predicates;
+        if (model.simplify) {
+            PredicateSimplifier.Simplification simplification = PredicateSimplifier.simplify(predicates);
+            predicates = simplification.predicates();
+            contradiction = simplification.contradiction();
+        }
+        if (model.canonical || fingerprint) {
+            List<QueryModel.Predicate> ordered = new ArrayList<>(predicates);
+            ordered.sort(CANONICAL_ORDER);
+            predicates = ordered;
+        }
+    }
+
+    private void renderKeyset(QueryModel.KeysetPredicate keyset) {
+        List<String> columns = keyset.columns();
+        String comparison = keyset.order() == Order.DESCENDING ? LESS_THAN : GREATER_THAN;
+        if (columns.size() == 1) {
+            write(columns.getFirst());
+            write(comparison);
+            writeValue(keyset.values().getFirst());
+            return;
+        }
+
+        if (keyset.style() == KeysetStyle.ROW_VALUE) {
+            write('(');
+            writeList(columns);
+            write(')');
+            write(comparison);
+            write('(');
+            for (int i = 0; i < columns.size(); i++) {
+                if (i > 0) {
+                    write(',');
+                }
+                writeValue(keyset.values().get(i));
+            }
+            write(')');
+            return;
+        }
+
+        write('(');
+        for (int i = 0; i < columns.size(); i++) {
+            if (i > 0) {
+                write(OR);
+                write('(');
+                for (int j = 0; j < i; j++) {
+                    write(columns.get(j));
+                    write(EQUALS);
+                    writeValue(keyset.values().get(j));
+                    write(AND);
+                }
+            }
+            write(columns.get(i));
+            write(comparison);
+            writeValue(keyset.values().get(i));
+            if (i > 0) {
+                write(')');
+            }
+        }
+        write(')');
+    }
+
+    private void renderPredicate(QueryModel.ColumnPredicate predicate) {
+        Condition<?> condition = predicate.condition();
+        Object value = condition.value();
+        InListPolicy policy = model.inListPolicy;
+        int size = QueryModel.inListSize(value);
+        if (isOversizedInList(condition, size) && policy.strategy() != InListStrategy.OR_CHUNKS) {
+            write(predicate.column());
+            write(IN);
+            renderInListSource(value, size);
+            return;
+        }
+        if (isOversizedInList(condition, size)) {
+            write('(');
+            int chunk = fingerprint ? size : policy.maxSize();
+            for (int from = 0; from < size; from += chunk) {
+                if (from > 0) {
+                    write(OR);
+                }
+                write(predicate.column());
+                write(IN);
+                writeInList(value, from, Math.min(size, from + chunk));
+            }
+            write(')');
+            return;
+        }
+        write(predicate.column());
+        write(condition.operator());
+        if (size >= 0) {
+            writeInList(value, 0, size);
+        } else {
+            writeValue(value);
+        }
+    }
+
+    private boolean isOversizedInList(Condition<?> condition, int size) {
+        return model.inListPolicy != null
+               && size > model.inListPolicy.maxSize()
+               && IN.equals(condition.operator());
+    }
+
+    private void renderGroupBy() {
+        if (!model.groupBy.isEmpty()) {
+            writeClause(GROUP_BY);
+            writeList(model.groupBy);
+        }
+    }
+
+    private void renderHaving() {
+        List<String> having = model.having;
+        for (int i = 0; i < having.size(); i++) {
+            if (i == 0) {
+                writeClause(HAVING);
+            } else {
+                write(AND);
+            }
+            write(having.get(i));
+        }
+    }
+
+    private void renderOrderBy() {
+        List<QueryModel.Ordering> orderings = model.orderings;
+        for (int i = 0; i < orderings.size(); i++) {
+            if (i == 0) {
+                writeClause(pretty ? PRETTY_ORDER_BY : ORDER_BY);
+            } else {
+                write(',');
+            }
+            QueryModel.Ordering ordering = orderings.get(i);
+            write(ordering.column());
+            write(' ');
+            write(ordering.order().getCode());
+        }
+    }
+
+    private void renderLimitAndOffset() {
+        if (model.limit > 0) {
+            writeClause(LIMIT);
+            writeCount(model.limit);
+        }
+        if (model.offset >= 0) {
+            writeClause(OFFSET);
+            writeCount(model.offset);
+        }
+    }
+
+    private void writeValue(Object value) {
+        if (!parameterized) {
+            writeLiteral(value);
+            return;
+        }
+        switch (value) {
+            case Pair<?, ?> pair -> {
+                writeValue(pair.getFirst());
+                write(AND);
+                writeValue(pair.getSecond());
+            }
+            case null, default -> writePlaceholder(bindValue(value));
+        }
+    }
+
+    private void writeLiteral(Object value) {
+        switch (value) {
+            case null -> write(NULL);
+            case String str -> writeQuoted(Sanitizer.sanitize(str));
+            case Integer integer -> write(integer.intValue());
+            case Long longValue -> write(longValue.longValue());
+            case Double doubleValue when Double.isFinite(doubleValue) -> write(doubleValue.doubleValue());
+            case Pair<?, ?> pair -> {
+                writeLiteral(pair.getFirst());
+                write(AND);
+                writeLiteral(pair.getSecond());
+            }
+            default -> {
+                int size = QueryModel.inListSize(value);
+                if (size >= 0) {
+                    writeInList(value, 0, size);
+                } else {
+                    writeEncoded(value);
+                }
+            }
+        }
+    }
+
+    private void writeEncoded(Object value) {
+        empty = false;
+        if (out == null) {
+            return;
+        }
+        try {
+            codecs.appendLiteral(value, buffer != null ? buffer : out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Object bindValue(Object value) {
+        return bindValue(value, codecs);
+    }
+
+    private void writeInList(Object values, int from, int to) {
+        if (fingerprint) {
+            write("(?)");
+            return;
+        }
+        write('(');
+        for (int i = from; i < to; i++) {
+            if (i > from) {
+                write(',');
+            }
+            writeElement(values, i);
+        }
+        write(')');
+    }
+
+    private void writeElement(Object values, int index) {
+        switch (values) {
+            case int[] ints when !parameterized -> write(ints[index]);
+            case int[] ints -> writePlaceholder(ints[index]);
+            case long[] longs when !parameterized -> write(longs[index]);
+            case long[] longs -> writePlaceholder(longs[index]);
+            case String[] strings -> writeValue(strings[index]);
+            case List<?> list -> writeValue(list.get(index));
+            default -> throw new IllegalArgumentException("Unsupported IN list type: " + values.getClass().getName());
+        }
+    }
+
+    private void writePlaceholder(Object value) {
+        if (fingerprint) {
+            write(PlaceholderStyle.QUESTION_MARK.getCode());
+            return;
+        }
+        binds.add(value);
+        write(placeholderStyle.getCode());
+        if (placeholderStyle == PlaceholderStyle.NUMBERED) {
+            write(binds.size());
+        }
+    }
+
+    private void writeCount(int count) {
+        if (fingerprint) {
+            write(PlaceholderStyle.QUESTION_MARK.getCode());
+        } else {
+            write(count);
+        }
+    }
+
+    private void writeQuoted(String value) {
+        write('\'');
+        write(value);
+        write('\'');
+    }
+
+    private void writeList(List<String> values) {
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) {
+                write(',');
+            }
+            write(values.get(i));
+        }
+    }
+
+    private void writeClause(String keyword) {
+        if (empty && keyword.charAt(0) == ' ') {
+            write(keyword, 1);
+        } else {
+            write(keyword);
+        }
+    }
+
+    private void write(String value) {
+        write(value, 0);
+    }
+
+    private void write(String value, int start) {
+        empty = false;
+        if (out == null) {
+            return;
+        }
+        if (buffer != null) {
+            buffer.append(value, start, value.length());
+            return;
+        }
+        try {
+            out.append(value, start, value.length());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void write(char value) {
+        empty = false;
+        if (out == null) {
+            return;
+        }
+        if (buffer != null) {
+            buffer.append(value);
+            return;
+        }
+        try {
+            out.append(value);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void write(int value) {
+        if (buffer != null) {
+            empty = false;
+            buffer.append(value);
+        } else if (out != null) {
+            write(Integer.toString(value));
+        }
+    }
+
+    private void write(long value) {
+        if (buffer != null) {
+            empty = false;
+            buffer.append(value);
+        } else if (out != null) {
+            write(Long.toString(value));
+        }
+    }
+
+    private void write(double value) {
+        if (buffer != null) {
+            empty = false;
+            buffer.append(value);
+        } else if (out != null) {
+            write(Double.toString(value));
+        }
+    }
+
+}
@@ -0,0 +1,292 @@
+package com.tinytinkers.cache;
+
+import com.tinytinkers.DynamicQueryBuilder;
+import com.tinytinkers.ImmutableQueryBuilder;
+import com.tinytinkers.PreparedQuery;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * Caches query results keyed on the canonical prepared SQL and its binds. Entries expire after their TTL, the least
+ * recently used entry is evicted once the cache is full, and concurrent misses for the same key share a single load.
+ * <p>
+ * Every entry is indexed by the tables its query reads, so {@link #invalidateTable(String)} drops exactly the entries
+ * a write to that table can affect. Tables referenced only inside raw {@code subquery} strings are not tracked.
+ * Results are shared between callers, so loaders should return immutable values, and a query should always be
+ * loaded into the same result type.
+ */
+public class QueryResultCache {
+
+    private final int maximumSize;
+    private final Duration defaultTtl;
+    private final LongSupplier nanoClock;
+    private final Map<ResultKey, Entry> entries;
+    private final Map<String, Set<ResultKey>> keysByTable = new HashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder sharedLoads = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    public record Stats(
+            long hits,
+            long misses,
+            long sharedLoads,
+            long evictions,
+            long invalidations,
+            int size
+    ) { }
+
+    private record ResultKey(
+            String sql,
+            List<Object> binds
+    ) { }
+
+    private static final class Entry {
+        private final CompletableFuture<Object> value = new CompletableFuture<>();
+        private final Set<String> tables;
+        private final long ttlNanos;
+        private volatile long expiresAt = Long.MAX_VALUE;
+
+        private Entry(Set<String> tables, long ttlNanos) {
+            this.tables = tables;
+            this.ttlNanos = ttlNanos;
+        }
+    }
+
+    public QueryResultCache(int maximumSize, Duration defaultTtl) {
+        this(maximumSize, defaultTtl, System::nanoTime);
+    }
+
+    QueryResultCache(int maximumSize, Duration defaultTtl, LongSupplier nanoClock) {
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("Maximum size must be greater than zero");
+        }
+        this.maximumSize = maximumSize;
+        this.defaultTtl = checkTtl(defaultTtl);
+        this.nanoClock = nanoClock;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<ResultKey, Entry> eldest) {
+                if (size() > QueryResultCache.this.maximumSize) {
+                    evictions.increment();
+                    unindex(eldest.getKey(), eldest.getValue());
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    public <T> T get(DynamicQueryBuilder query, Function<PreparedQuery, T> loader) {
+        return get(query, defaultTtl, loader);
+    }
+
+    public <T> T get(DynamicQueryBuilder query, Duration ttl, Function<PreparedQuery, T> loader) {
+        if (query == null) {
+            throw new IllegalArgumentException("Query cannot be null");
+        }
+        return get(query.toImmutable(), ttl, loader);
+    }
+
+    public <T> T get(ImmutableQueryBuilder query, Function<PreparedQuery, T> loader) {
+        return get(query, defaultTtl, loader);
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T get(ImmutableQueryBuilder query, Duration ttl, Function<PreparedQuery, T> loader) {
+        if (query == null) {
+            throw new IllegalArgumentException("Query cannot be null");
+        }
+        if (loader == null) {
+            throw new IllegalArgumentException("Loader cannot be null");
+        }
+        long ttlNanos = checkTtl(ttl).toNanos();
+        PreparedQuery prepared = query.canonical().buildPrepared();
+        ResultKey key = new ResultKey(prepared.sql(), keyBinds(prepared.binds()));
+
+        Entry entry;
+        boolean loading = false;
+        synchronized (entries) {
+            entry = entries.get(key);
+            if (entry != null && entry.expiresAt - nanoClock.getAsLong() <= 0) {
+                entries.remove(key);
+                unindex(key, entry);
+                entry = null;
+            }
+            if (entry == null) {
+                entry = new Entry(normalizedTables(query.referencedTables()), ttlNanos);
+                entries.put(key, entry);
+                index(key, entry);
+                loading = true;
+            }
+        }
+
+        if (loading) {
+            misses.increment();
+            return load(key, entry, prepared, loader);
+        }
+        if (entry.value.isDone()) {
+            hits.increment();
+        } else {
+            sharedLoads.increment();
+        }
+        try {
+            return (T) entry.value.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    public int invalidateTable(String table) {
+        if (table == null || table.isBlank()) {
+            throw new IllegalArgumentException("Table cannot be null or blank");
+        }
+        synchronized (entries) {
+            Set<ResultKey> keys = keysByTable.remove(normalizeTable(table));
+            if (keys == null) {
+                return 0;
+            }
+            for (ResultKey key : keys) {
+                Entry entry = entries.remove(key);
+                if (entry != null) {
+                    unindex(key, entry);
+                }
+            }
+            invalidations.add(keys.size());
+            return keys.size();
+        }
+    }
+
+    public void invalidateAll() {
+        synchronized (entries) {
+            invalidations.add(entries.size());
+            entries.clear();
+            keysByTable.clear();
+        }
+    }
+
+    public Stats stats() {
+        int size;
+        synchronized (entries) {
+            size = entries.size();
+        }
+        return new Stats(hits.sum(), misses.sum(), sharedLoads.sum(), evictions.sum(), invalidations.sum(), size);
+    }
+
+    private <T> T load(ResultKey key, Entry entry, PreparedQuery prepared, Function<PreparedQuery, T> loader) {
+        T value;
+        try {
+            value = loader.apply(prepared);
+        } catch (RuntimeException | Error e) {
+            synchronized (entries) {
+                if (entries.get(key) == entry) {
+                    entries.remove(key);
+                    unindex(key, entry);
+                }
+            }
+            entry.value.completeExceptionally(e);
+            throw e;
+        }
+        entry.expiresAt = nanoClock.getAsLong() + entry.ttlNanos;
+        entry.value.complete(value);
+        return value;
+    }
+
+    private void index(ResultKey key, Entry entry) {
+        for (String table : entry.tables) {
+            keysByTable.computeIfAbsent(table, t -> new HashSet<>()).add(key);
+        }
+    }
+
+    private void unindex(ResultKey key, Entry entry) {
+        for (String table : entry.tables) {
+            Set<ResultKey> keys = keysByTable.get(table);
+            if (keys != null && keys.remove(key) && keys.isEmpty()) {
+                keysByTable.remove(table);
+            }
+        }
+    }
+
+    private static Set<String> normalizedTables(Set<String> tables) {
+        Set<String> normalized = new HashSet<>(tables.size() * 2);
+        for (String table : tables) {
+            normalized.add(normalizeTable(table));
+        }
+        return normalized;
+    }
+
+    private static String normalizeTable(String table) {
+        String name = table.trim();
+        int space = name.indexOf(' ');
+        return (space < 0 ? name : name.substring(0, space)).toLowerCase(Locale.ROOT);
+    }
+
+    private static List<Object> keyBinds(List<Object> binds) {
+        List<Object> key = new ArrayList<>(binds.size());
+        for (Object bind : binds) {
+            key.add(keyBind(bind));
+        }
+        return key;
+    }
+
+    private static Object keyBind(Object bind) {
+        return switch (bind) {
+            case int[] ints -> Arrays.stream(ints).boxed().toList();
+            case long[] longs -> Arrays.stream(longs).boxed().toList();
+            case double[] doubles -> Arrays.stream(doubles).boxed().toList();
+            case byte[] bytes -> ByteBuffer.wrap(bytes.clone()).asReadOnlyBuffer();
+            case char[] chars -> CharBuffer.wrap(chars.clone()).asReadOnlyBuffer();
+            case short[] shorts -> {
+                List<Short> values = new ArrayList<>(shorts.length);
+                for (short value : shorts) {
+                    values.add(value);
+                }
+                yield values;
+            }
+            case float[] floats -> {
+                List<Float> values = new ArrayList<>(floats.length);
+                for (float value : floats) {
+                    values.add(value);
+                }
+                yield values;
+            }
+            case boolean[] booleans -> {
+                List<Boolean> values = new ArrayList<>(booleans.length);
+                for (boolean value : booleans) {
+                    values.add(value);
+                }
+                yield values;
+            }
+            case Object[] objects -> keyBinds(Arrays.asList(objects));
+            case null, default -> bind;
+        };
+    }
+
+    private static Duration checkTtl(Duration ttl) {
+        if (ttl == null || ttl.isNegative() || ttl.isZero()) {
+            throw new IllegalArgumentException("TTL must be a positive duration");
+        }
+        return ttl;
+    }
+
+}
@@ -0,0 +1,62 @@
+package com.tinytinkers.codec;
+
+import java.io.IOException;
+import java.util.function.Function;
+
+/**
+ * Encodes values of one Java type into SQL. {@link #appendLiteral} writes the value as an inline literal, including
+ * any quoting, and {@link #toBind} converts it into the object handed to JDBC as a bind parameter.
+ */
+public interface ValueCodec<T> {
+
+    void appendLiteral(T value, Appendable out) throws IOException;
+
+    default Object toBind(T value) {
+        return value;
+    }
+
+    default ValueCodec<T> withBind(Function<? super T, ?> binder) {
+        if (binder == null) {
+            throw new IllegalArgumentException("Binder cannot be null");
+        }
+        ValueCodec<T> literal = this;
+        return new ValueCodec<>() {
+            @Override
+            public void appendLiteral(T value, Appendable out) throws IOException {
+                literal.appendLiteral(value, out);
+            }
+
+            @Override
+            public Object toBind(T value) {
+                return binder.apply(value);
+            }
+        };
+    }
+
+    static <T> ValueCodec<T> unquoted(Function<? super T, String> formatter) {
+        if (formatter == null) {
+            throw new IllegalArgumentException("Formatter cannot be null");
+        }
+        return (value, out) -> out.append(formatter.apply(value));
+    }
+
+    static <T> ValueCodec<T> quoted(Function<? super T, String> formatter) {
+        if (formatter == null) {
+            throw new IllegalArgumentException("Formatter cannot be null");
+        }
+        return (value, out) -> appendQuoted(formatter.apply(value), out);
+    }
+
+    static void appendQuoted(CharSequence text, Appendable out) throws IOException {
+        out.append('\'');
+        int start = 0;
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) == '\'') {
+                out.append(text, start, i + 1).append('\'');
+                start = i + 1;
+            }
+        }
+        out.append(text, start, text.length()).append('\'');
+    }
+
+}
@@ -0,0 +1,161 @@
+package com.tinytinkers.codec;
+
+import com.tinytinkers.enums.Dialect;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Immutable registry of {@link ValueCodec}s. A value is encoded by the codec registered for its class, otherwise for
+ * its nearest registered superclass or interface. Resolved lookups are cached per registry. Strings, {@code int},
+ * {@code long} and {@code double} are written by the renderer directly and never reach the registry.
+ */
+public final class ValueCodecs {
+
+    private static final DateTimeFormatter DATE_TIME = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final DateTimeFormatter TIME = DateTimeFormatter.ofPattern("HH:mm:ss");
+    private static final DateTimeFormatter TIMESTAMP_WITH_OFFSET = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSSSSSxxx");
+    private static final char[] HEX = "0123456789ABCDEF".toCharArray();
+    private static final ValueCodec<?> MISSING = (value, out) -> { };
+
+    private static final ValueCodecs ANSI = new ValueCodecs(Dialect.ANSI, ansiCodecs());
+    private static final Map<Dialect, ValueCodecs> DIALECTS = dialects();
+
+    private final Dialect dialect;
+    private final Map<Class<?>, ValueCodec<?>> codecs;
+    private final ConcurrentHashMap<Class<?>, ValueCodec<?>> resolved = new ConcurrentHashMap<>();
+
+    private ValueCodecs(Dialect dialect, Map<Class<?>, ValueCodec<?>> codecs) {
+        this.dialect = dialect;
+        this.codecs = codecs;
+    }
+
+    public static ValueCodecs defaults() {
+        return ANSI;
+    }
+
+    public static ValueCodecs forDialect(Dialect dialect) {
+        if (dialect == null) {
+            throw new IllegalArgumentException("Dialect cannot be null");
+        }
+        return DIALECTS.get(dialect);
+    }
+
+    public Dialect dialect() {
+        return dialect;
+    }
+
+    public <T> ValueCodecs with(Class<T> type, ValueCodec<? super T> codec) {
+        if (type == null || codec == null) {
+            throw new IllegalArgumentException("Type and codec cannot be null");
+        }
+        Map<Class<?>, ValueCodec<?>> copy = new HashMap<>(codecs);
+        copy.put(type, codec);
+        return new ValueCodecs(dialect, Map.copyOf(copy));
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> ValueCodec<? super T> codecFor(Class<T> type) {
+        ValueCodec<?> codec = resolved.get(type);
+        if (codec == null) {
+            codec = resolve(type);
+            resolved.putIfAbsent(type, codec);
+        }
+        return codec == MISSING ? null : (ValueCodec<? super T>) codec;
+    }
+
+    @SuppressWarnings("unchecked")
+    public void appendLiteral(Object value, Appendable out) throws IOException {
+        ValueCodec<Object> codec = (ValueCodec<Object>) codecFor(value.getClass());
+        if (codec == null) {
+            out.append(String.valueOf(value));
+        } else {
+            codec.appendLiteral(value, out);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public Object toBind(Object value) {
+        if (value == null) {
+            return null;
+        }
+        ValueCodec<Object> codec = (ValueCodec<Object>) codecFor(value.getClass());
+        return codec == null ? value : codec.toBind(value);
+    }
+
+    private ValueCodec<?> resolve(Class<?> type) {
+        for (Class<?> current = type; current != null; current = current.getSuperclass()) {
+            ValueCodec<?> codec = codecs.get(current);
+            if (codec != null) {
+                return codec;
+            }
+            for (Class<?> contract : current.getInterfaces()) {
+                ValueCodec<?> inherited = resolve(contract);
+                if (inherited != MISSING) {
+                    return inherited;
+                }
+            }
+        }
+        return MISSING;
+    }
+
+    private static Map<Class<?>, ValueCodec<?>> ansiCodecs() {
+        Map<Class<?>, ValueCodec<?>> codecs = new HashMap<>();
+        codecs.put(LocalDateTime.class, ValueCodec.<LocalDateTime>quoted(DATE_TIME::format));
+        codecs.put(LocalDate.class, ValueCodec.<LocalDate>quoted(DateTimeFormatter.ISO_LOCAL_DATE::format));
+        codecs.put(LocalTime.class, ValueCodec.<LocalTime>quoted(TIME::format));
+        codecs.put(OffsetDateTime.class, ValueCodec.<OffsetDateTime>quoted(TIMESTAMP_WITH_OFFSET::format));
+        codecs.put(Instant.class, ValueCodec.<Instant>quoted(instant -> TIMESTAMP_WITH_OFFSET.format(instant.atOffset(ZoneOffset.UTC)))
+                .withBind(instant -> instant.atOffset(ZoneOffset.UTC)));
+        codecs.put(BigDecimal.class, ValueCodec.unquoted(BigDecimal::toPlainString));
+        codecs.put(BigInteger.class, ValueCodec.<BigInteger>unquoted(Object::toString));
+        codecs.put(Short.class, ValueCodec.<Short>unquoted(Object::toString));
+        codecs.put(Byte.class, ValueCodec.<Byte>unquoted(Object::toString));
+        codecs.put(Float.class, ValueCodec.<Float>unquoted(value -> Float.isFinite(value) ? value.toString() : "'" + value + "'"));
+        codecs.put(Double.class, ValueCodec.<Double>unquoted(value -> Double.isFinite(value) ? value.toString() : "'" + value + "'"));
+        codecs.put(Boolean.class, ValueCodec.<Boolean>unquoted(value -> value ? "TRUE" : "FALSE"));
+        codecs.put(Character.class, ValueCodec.<Character>quoted(Object::toString));
+        codecs.put(UUID.class, ValueCodec.<UUID>quoted(UUID::toString));
+        codecs.put(Enum.class, ValueCodec.<Enum<?>>quoted(Enum::name).withBind(Enum::name));
+        codecs.put(byte[].class, (ValueCodec<byte[]>) (bytes, out) -> appendHex(bytes, out.append("X'")).append('\''));
+        return codecs;
+    }
+
+    private static Map<Dialect, ValueCodecs> dialects() {
+        Map<Dialect, ValueCodecs> dialects = new EnumMap<>(Dialect.class);
+        dialects.put(Dialect.ANSI, ANSI);
+        dialects.put(Dialect.MYSQL, new ValueCodecs(Dialect.MYSQL, Map.copyOf(ansiCodecs())));
+
+        Map<Class<?>, ValueCodec<?>> postgres = ansiCodecs();
+        postgres.put(byte[].class, (ValueCodec<byte[]>) (bytes, out) -> appendHex(bytes, out.append("'\\x")).append('\''));
+        postgres.put(UUID.class, ValueCodec.<UUID>unquoted(uuid -> "'" + uuid + "'::uuid"));
+        dialects.put(Dialect.POSTGRESQL, new ValueCodecs(Dialect.POSTGRESQL, Map.copyOf(postgres)));
+
+        Map<Class<?>, ValueCodec<?>> sqlServer = ansiCodecs();
+        sqlServer.put(Boolean.class, ValueCodec.<Boolean>unquoted(value -> value ? "1" : "0"));
+        sqlServer.put(byte[].class, (ValueCodec<byte[]>) (bytes, out) -> appendHex(bytes, out.append("0x")));
+        dialects.put(Dialect.SQL_SERVER, new ValueCodecs(Dialect.SQL_SERVER, Map.copyOf(sqlServer)));
+        return dialects;
+    }
+
+    private static Appendable appendHex(byte[] bytes, Appendable out) throws IOException {
+        for (byte b : bytes) {
+            out.append(HEX[(b >> 4) & 0xF]).append(HEX[b & 0xF]);
+        }
+        return out;
+    }
+
+}
@@ -6,12 +6,19 @@ public class Keywords {
 
     public static final String SELECT_ALL_FROM = "SELECT * FROM ";
     public static final String SELECT_COUNT_FROM = "SELECT COUNT(*) FROM ";
+    public static final String WITH = "WITH ";
     public static final String SELECT = "SELECT ";
+    public static final String ALL_COLUMNS = "*";
+    public static final String COUNT_ALL = "COUNT(*)";
+    public static final String COUNT_OVER = "COUNT(*) OVER()";
     public static final String FROM = " FROM ";
+    public static final String AS = " AS ";
     public static final String WHERE = " WHERE ";
     public static final String AND = " AND ";
+    public static final String OR = " OR ";
     public static final String ORDER = " ORDER ";
     public static final String NULL = "NULL";
+    public static final String EXISTS = "EXISTS ";
     public static final String ORDER_BY = " ORDER BY ";
     public static final String GROUP_BY = " GROUP BY ";
     public static final String HAVING = " HAVING ";
@@ -20,6 +27,13 @@ public class Keywords {
     public static final String DISTINCT = "DISTINCT ";
     public static final String LIMIT = " LIMIT ";
     public static final String OFFSET = " OFFSET ";
+    public static final String UNION_ALL = " UNION ALL ";
+    public static final String INSERT_INTO = "INSERT INTO ";
+    public static final String VALUES = " VALUES ";
+    public static final String ON_CONFLICT = " ON CONFLICT";
+    public static final String DO_NOTHING = " DO NOTHING";
+    public static final String DO_UPDATE_SET = " DO UPDATE SET ";
+    public static final String ON_DUPLICATE_KEY_UPDATE = " ON DUPLICATE KEY UPDATE ";
     public static final Pattern UNSAFE_INPUT_PATTERN = Pattern.compile(";.*");
 
     private Keywords() { }
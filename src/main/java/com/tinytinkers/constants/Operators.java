@@ -8,6 +8,12 @@ public class Operators {
     public static final String LESS_THAN = " < ";
     public static final String BETWEEN = " BETWEEN ";
     public static final String IN = " IN ";
+    public static final String NOT_EQUALS = " <> ";
+    public static final String NOT_LIKE = " NOT LIKE ";
+    public static final String GREATER_THAN_OR_EQUAL = " >= ";
+    public static final String LESS_THAN_OR_EQUAL = " <= ";
+    public static final String NOT_BETWEEN = " NOT BETWEEN ";
+    public static final String NOT_IN = " NOT IN ";
     public static final String PERCENT_SIGN = "%";
 
     private Operators() { }
@@ -0,0 +1,20 @@
+package com.tinytinkers.enums;
+
+public enum BuildOperation {
+    STRING("string"),
+    WRITE("write"),
+    PRETTY("pretty"),
+    PREPARED("prepared"),
+    BATCH("batch");
+
+    private final String code;
+
+    BuildOperation(String code) {
+        this.code = code;
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+}
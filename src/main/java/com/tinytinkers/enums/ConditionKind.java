@@ -0,0 +1,7 @@
+package com.tinytinkers.enums;
+
+public enum ConditionKind {
+    SCALAR,
+    PAIR,
+    LIST
+}
@@ -0,0 +1,19 @@
+package com.tinytinkers.enums;
+
+public enum Dialect {
+    ANSI("ansi"),
+    POSTGRESQL("postgresql"),
+    MYSQL("mysql"),
+    SQL_SERVER("sqlserver");
+
+    private final String code;
+
+    Dialect(String code) {
+        this.code = code;
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+}
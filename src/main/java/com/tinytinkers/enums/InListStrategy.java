@@ -0,0 +1,7 @@
+package com.tinytinkers.enums;
+
+public enum InListStrategy {
+    OR_CHUNKS,
+    VALUES_JOIN,
+    UNNEST_JOIN
+}
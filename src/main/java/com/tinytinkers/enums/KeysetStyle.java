@@ -0,0 +1,6 @@
+package com.tinytinkers.enums;
+
+public enum KeysetStyle {
+    ROW_VALUE,
+    EXPANDED
+}
@@ -0,0 +1,20 @@
+package com.tinytinkers.enums;
+
+public enum LintRule {
+    LEADING_WILDCARD(LintSeverity.WARNING),
+    SELECT_ALL(LintSeverity.INFO),
+    LARGE_OFFSET(LintSeverity.WARNING),
+    ORDER_BY_WITHOUT_LIMIT(LintSeverity.INFO),
+    LARGE_IN_LIST(LintSeverity.WARNING),
+    UNFILTERED_JOIN(LintSeverity.WARNING);
+
+    private final LintSeverity defaultSeverity;
+
+    LintRule(LintSeverity defaultSeverity) {
+        this.defaultSeverity = defaultSeverity;
+    }
+
+    public LintSeverity getDefaultSeverity() {
+        return this.defaultSeverity;
+    }
+}
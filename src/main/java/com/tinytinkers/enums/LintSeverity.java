@@ -0,0 +1,7 @@
+package com.tinytinkers.enums;
+
+public enum LintSeverity {
+    INFO,
+    WARNING,
+    ERROR
+}
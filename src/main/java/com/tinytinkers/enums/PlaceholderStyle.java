@@ -0,0 +1,17 @@
+package com.tinytinkers.enums;
+
+public enum PlaceholderStyle {
+    QUESTION_MARK("?"),
+    NUMBERED("$");
+
+    private final String code;
+
+    PlaceholderStyle(String code) {
+        this.code = code;
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+}
@@ -0,0 +1,131 @@
+package com.tinytinkers.jdbc;
+
+import com.tinytinkers.PreparedQuery;
+
+import javax.sql.DataSource;
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.List;
+
+final class Cursor implements AutoCloseable {
+
+    private final String sql;
+    private final Connection connection;
+    private final PreparedStatement statement;
+    private final ResultSet resultSet;
+    private boolean closed;
+
+    private Cursor(String sql, Connection connection, PreparedStatement statement, ResultSet resultSet) {
+        this.sql = sql;
+        this.connection = connection;
+        this.statement = statement;
+        this.resultSet = resultSet;
+    }
+
+    static Cursor open(DataSource dataSource, PreparedQuery query, int fetchSize) {
+        Connection connection = null;
+        PreparedStatement statement = null;
+        try {
+            connection = dataSource.getConnection();
+            statement = connection.prepareStatement(query.sql(), ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            if (fetchSize > 0) {
+                statement.setFetchSize(fetchSize);
+            }
+            bind(connection, statement, query.binds());
+            return new Cursor(query.sql(), connection, statement, statement.executeQuery());
+        } catch (SQLException e) {
+            closeQuietly(statement, e);
+            closeQuietly(connection, e);
+            throw new QueryExecutionException(query.sql(), e);
+        }
+    }
+
+    static void bind(Connection connection, PreparedStatement statement, List<Object> binds) throws SQLException {
+        for (int i = 0; i < binds.size(); i++) {
+            Object value = binds.get(i);
+            switch (value) {
+                case int[] ints -> statement.setArray(i + 1, createArray(connection, "integer",
+                        Arrays.stream(ints).boxed().toArray()));
+                case long[] longs -> statement.setArray(i + 1, createArray(connection, "bigint",
+                        Arrays.stream(longs).boxed().toArray()));
+                case String[] strings -> statement.setArray(i + 1, createArray(connection, "varchar", strings));
+                case Object[] objects -> statement.setArray(i + 1, createArray(connection, arrayType(objects), objects));
+                case null, default -> statement.setObject(i + 1, value);
+            }
+        }
+    }
+
+    <T> T map(RowMapper<T> mapper) {
+        try {
+            return mapper.map(resultSet);
+        } catch (SQLException e) {
+            throw new QueryExecutionException(sql, e);
+        }
+    }
+
+    boolean next() {
+        try {
+            return resultSet.next();
+        } catch (SQLException e) {
+            throw new QueryExecutionException(sql, e);
+        }
+    }
+
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        SQLException failure = null;
+        failure = close(resultSet, failure);
+        failure = close(statement, failure);
+        failure = close(connection, failure);
+        if (failure != null) {
+            throw new QueryExecutionException(sql, failure);
+        }
+    }
+
+    private static Array createArray(Connection connection, String typeName, Object[] elements) throws SQLException {
+        return connection.createArrayOf(typeName, elements);
+    }
+
+    private static String arrayType(Object[] elements) {
+        for (Object element : elements) {
+            if (element instanceof Integer || element instanceof Short) {
+                return "integer";
+            }
+            if (element instanceof Long) {
+                return "bigint";
+            }
+            if (element != null) {
+                break;
+            }
+        }
+        return "varchar";
+    }
+
+    private static SQLException close(AutoCloseable resource, SQLException failure) {
+        try {
+            resource.close();
+        } catch (Exception e) {
+            SQLException sqlException = e instanceof SQLException s ? s : new SQLException(e);
+            if (failure == null) {
+                return sqlException;
+            }
+            failure.addSuppressed(sqlException);
+        }
+        return failure;
+    }
+
+    private static void closeQuietly(AutoCloseable resource, SQLException failure) {
+        if (resource != null) {
+            close(resource, failure);
+        }
+    }
+
+}
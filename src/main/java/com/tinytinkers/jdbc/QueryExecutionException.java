@@ -0,0 +1,18 @@
+package com.tinytinkers.jdbc;
+
+import java.sql.SQLException;
+
+public class QueryExecutionException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public QueryExecutionException(String sql, SQLException cause) {
+        super("Failed to execute query: " + sql, cause);
+    }
+
+    @Override
+    public synchronized SQLException getCause() {
+        return (SQLException) super.getCause();
+    }
+
+}
@@ -0,0 +1,166 @@
+package com.tinytinkers.jdbc;
+
+import com.tinytinkers.DynamicQueryBuilder;
+import com.tinytinkers.PreparedQuery;
+import com.tinytinkers.QueryMultiplexer;
+
+import javax.sql.DataSource;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ThreadFactory;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Runs built queries against a {@link DataSource}. Streams and publishers fetch rows lazily with the configured
+ * fetch size; the connection, statement and result set are closed as soon as the rows are exhausted, the stream is
+ * closed, or the subscription is cancelled. Blocking work is carried out on virtual threads.
+ */
+public final class QueryExecutor {
+
+    private static final ThreadFactory VIRTUAL_THREADS = Thread.ofVirtual().name("query-executor-", 0).factory();
+    private static final Executor VIRTUAL_THREAD_EXECUTOR = task -> VIRTUAL_THREADS.newThread(task).start();
+
+    private final DataSource dataSource;
+    private final int fetchSize;
+
+    private QueryExecutor(DataSource dataSource, int fetchSize) {
+        this.dataSource = dataSource;
+        this.fetchSize = fetchSize;
+    }
+
+    public static QueryExecutor of(DataSource dataSource) {
+        if (dataSource == null) {
+            throw new IllegalArgumentException("Data source cannot be null");
+        }
+        return new QueryExecutor(dataSource, 0);
+    }
+
+    public QueryExecutor withFetchSize(int fetchSize) {
+        if (fetchSize < 0) {
+            throw new IllegalArgumentException("Fetch size cannot be negative");
+        }
+        return new QueryExecutor(dataSource, fetchSize);
+    }
+
+    public int fetchSize() {
+        return fetchSize;
+    }
+
+    /**
+     * Returns a lazily fetched stream of mapped rows. The stream holds an open connection until it is exhausted or
+     * closed, so it should be consumed inside a try-with-resources block.
+     */
+    public <T> Stream<T> stream(PreparedQuery query, RowMapper<T> mapper) {
+        validate(query, mapper);
+        Cursor cursor = Cursor.open(dataSource, query, fetchSize);
+        return StreamSupport.stream(new RowSpliterator<>(cursor, mapper), false).onClose(cursor::close);
+    }
+
+    public <T> Stream<T> stream(DynamicQueryBuilder builder, RowMapper<T> mapper) {
+        return stream(prepare(builder), mapper);
+    }
+
+    public <T> List<T> list(PreparedQuery query, RowMapper<T> mapper) {
+        try (Stream<T> rows = stream(query, mapper)) {
+            return rows.toList();
+        }
+    }
+
+    public <T> List<T> list(DynamicQueryBuilder builder, RowMapper<T> mapper) {
+        return list(prepare(builder), mapper);
+    }
+
+    public <T> CompletableFuture<List<T>> listAsync(PreparedQuery query, RowMapper<T> mapper) {
+        validate(query, mapper);
+        return CompletableFuture.supplyAsync(() -> list(query, mapper), VIRTUAL_THREAD_EXECUTOR);
+    }
+
+    public <T> CompletableFuture<List<T>> listAsync(DynamicQueryBuilder builder, RowMapper<T> mapper) {
+        return listAsync(prepare(builder), mapper);
+    }
+
+    /**
+     * Returns a publisher that runs the query once per subscriber on its own virtual thread. Rows are only read
+     * from the result set as the subscriber requests them.
+     */
+    public <T> Flow.Publisher<T> publish(PreparedQuery query, RowMapper<T> mapper) {
+        validate(query, mapper);
+        return subscriber -> {
+            if (subscriber == null) {
+                throw new NullPointerException("Subscriber cannot be null");
+            }
+            RowSubscription<T> subscription = new RowSubscription<>(dataSource, query, fetchSize, mapper, subscriber);
+            subscriber.onSubscribe(subscription);
+            VIRTUAL_THREADS.newThread(subscription).start();
+        };
+    }
+
+    public <T> Flow.Publisher<T> publish(DynamicQueryBuilder builder, RowMapper<T> mapper) {
+        return publish(prepare(builder), mapper);
+    }
+
+    /**
+     * Runs many small queries in as few round trips as possible (see {@link QueryMultiplexer}) and returns the rows
+     * of each query, as column values in its select order, at the same position as the query in {@code queries}.
+     */
+    public List<List<Object[]>> listMultiplexed(List<DynamicQueryBuilder> queries) {
+        return listMultiplexed(QueryMultiplexer.of(queries));
+    }
+
+    public List<List<Object[]>> listMultiplexed(QueryMultiplexer multiplexer) {
+        if (multiplexer == null) {
+            throw new IllegalArgumentException("Multiplexer cannot be null");
+        }
+        List<List<Object[]>> results = new ArrayList<>(multiplexer.queryCount());
+        for (int i = 0; i < multiplexer.queryCount(); i++) {
+            results.add(new ArrayList<>());
+        }
+        for (QueryMultiplexer.Statement statement : multiplexer.statements()) {
+            try (Stream<Object[]> rows = stream(statement.query(), new ArrayMapper())) {
+                rows.forEach(row -> results.get(statement.queryIndex(row)).add(statement.values(row)));
+            }
+        }
+        return results;
+    }
+
+    private static PreparedQuery prepare(DynamicQueryBuilder builder) {
+        if (builder == null) {
+            throw new IllegalArgumentException("Query builder cannot be null");
+        }
+        return builder.buildPrepared();
+    }
+
+    private static void validate(PreparedQuery query, RowMapper<?> mapper) {
+        if (query == null) {
+            throw new IllegalArgumentException("Query cannot be null");
+        }
+        if (mapper == null) {
+            throw new IllegalArgumentException("Row mapper cannot be null");
+        }
+    }
+
+    private static final class ArrayMapper implements RowMapper<Object[]> {
+
+        private int columnCount = -1;
+
+        @Override
+        public Object[] map(ResultSet resultSet) throws SQLException {
+            if (columnCount < 0) {
+                columnCount = resultSet.getMetaData().getColumnCount();
+            }
+            Object[] row = new Object[columnCount];
+            for (int i = 0; i < columnCount; i++) {
+                row[i] = resultSet.getObject(i + 1);
+            }
+            return row;
+        }
+
+    }
+
+}
@@ -0,0 +1,162 @@
+package com.tinytinkers.jdbc;
+
+import com.tinytinkers.DynamicQueryBuilder;
+import com.tinytinkers.ImmutableQueryBuilder;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.RecordComponent;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Maps rows into a record through its canonical constructor. The column index of every component and the constructor
+ * handle are resolved once per (record type, column list) and cached, so mapping a row only reads each column by
+ * index and invokes the handle.
+ * <p>
+ * A component matches a column when their names are equal ignoring case and underscores, so {@code created_at}
+ * fills {@code createdAt}. Table qualifiers and {@code AS} aliases are resolved to the name the column is read as.
+ */
+public final class RecordMapper<R extends Record> implements RowMapper<R> {
+
+    private static final int MAX_CACHED_MAPPERS = 1024;
+    private static final ConcurrentHashMap<Key, RecordMapper<?>> MAPPERS = new ConcurrentHashMap<>();
+
+    private record Key(Class<?> type, List<String> columns) { }
+
+    private final Class<R> type;
+    private final MethodHandle constructor;
+    private final int[] columnIndexes;
+    private final Class<?>[] columnTypes;
+    private final boolean[] primitive;
+    private final String[] componentNames;
+
+    private RecordMapper(Class<R> type, MethodHandle constructor, int[] columnIndexes, Class<?>[] columnTypes,
+                         boolean[] primitive, String[] componentNames) {
+        this.type = type;
+        this.constructor = constructor;
+        this.columnIndexes = columnIndexes;
+        this.columnTypes = columnTypes;
+        this.primitive = primitive;
+        this.componentNames = componentNames;
+    }
+
+    public static <R extends Record> RecordMapper<R> of(Class<R> type, DynamicQueryBuilder builder) {
+        if (builder == null) {
+            throw new IllegalArgumentException("Query builder cannot be null");
+        }
+        return of(type, builder.selectedColumns());
+    }
+
+    public static <R extends Record> RecordMapper<R> of(Class<R> type, ImmutableQueryBuilder builder) {
+        if (builder == null) {
+            throw new IllegalArgumentException("Query builder cannot be null");
+        }
+        return of(type, builder.selectedColumns());
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <R extends Record> RecordMapper<R> of(Class<R> type, List<String> columns) {
+        if (type == null || !type.isRecord()) {
+            throw new IllegalArgumentException("Target type must be a record class");
+        }
+        if (columns == null || columns.isEmpty()) {
+            throw new IllegalArgumentException("Record mapping requires an explicit column list");
+        }
+        Key key = new Key(type, List.copyOf(columns));
+        RecordMapper<?> cached = MAPPERS.get(key);
+        if (cached != null) {
+            return (RecordMapper<R>) cached;
+        }
+        RecordMapper<R> mapper = resolve(type, key.columns());
+        if (MAPPERS.size() < MAX_CACHED_MAPPERS) {
+            RecordMapper<?> raced = MAPPERS.putIfAbsent(key, mapper);
+            if (raced != null) {
+                return (RecordMapper<R>) raced;
+            }
+        }
+        return mapper;
+    }
+
+    public Class<R> type() {
+        return type;
+    }
+
+    @Override
+    public R map(ResultSet resultSet) throws SQLException {
+        Object[] arguments = new Object[columnIndexes.length];
+        for (int i = 0; i < arguments.length; i++) {
+            Object value = resultSet.getObject(columnIndexes[i], columnTypes[i]);
+            if (value == null && primitive[i]) {
+                throw new SQLException("Column for primitive component %s.%s is null"
+                        .formatted(type.getSimpleName(), componentNames[i]));
+            }
+            arguments[i] = value;
+        }
+        try {
+            return type.cast((Object) constructor.invokeExact(arguments));
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new SQLException("Failed to construct " + type.getName(), e);
+        }
+    }
+
+    private static <R extends Record> RecordMapper<R> resolve(Class<R> type, List<String> columns) {
+        RecordComponent[] components = type.getRecordComponents();
+        String[] labels = columns.stream().map(RecordMapper::normalize).toArray(String[]::new);
+
+        int[] columnIndexes = new int[components.length];
+        Class<?>[] columnTypes = new Class<?>[components.length];
+        boolean[] primitive = new boolean[components.length];
+        String[] componentNames = new String[components.length];
+        Class<?>[] parameterTypes = new Class<?>[components.length];
+
+        for (int i = 0; i < components.length; i++) {
+            RecordComponent component = components[i];
+            List<String> normalized = Arrays.asList(labels);
+            String name = normalize(component.getName());
+            int index = normalized.indexOf(name);
+            if (index < 0) {
+                throw new IllegalArgumentException("No column in %s matches component %s.%s"
+                        .formatted(columns, type.getSimpleName(), component.getName()));
+            }
+            if (normalized.lastIndexOf(name) != index) {
+                throw new IllegalArgumentException("Columns %s and %s both match component %s.%s; alias one of them"
+                        .formatted(columns.get(index), columns.get(normalized.lastIndexOf(name)),
+                                type.getSimpleName(), component.getName()));
+            }
+            columnIndexes[i] = index + 1;
+            parameterTypes[i] = component.getType();
+            columnTypes[i] = MethodType.methodType(component.getType()).wrap().returnType();
+            primitive[i] = component.getType().isPrimitive();
+            componentNames[i] = component.getName();
+        }
+
+        try {
+            MethodHandle constructor = MethodHandles.privateLookupIn(type, MethodHandles.lookup())
+                    .findConstructor(type, MethodType.methodType(void.class, parameterTypes))
+                    .asSpreader(Object[].class, components.length)
+                    .asType(MethodType.methodType(Object.class, Object[].class));
+            return new RecordMapper<>(type, constructor, columnIndexes, columnTypes, primitive, componentNames);
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            throw new IllegalArgumentException("Canonical constructor of %s is not accessible".formatted(type.getName()), e);
+        }
+    }
+
+    private static String normalize(String column) {
+        String label = column.trim();
+        int alias = label.toUpperCase(Locale.ROOT).lastIndexOf(" AS ");
+        if (alias >= 0) {
+            label = label.substring(alias + 4).trim();
+        }
+        label = label.substring(label.lastIndexOf('.') + 1);
+        return label.replace("_", "").replace("\"", "").toLowerCase(Locale.ROOT);
+    }
+
+}
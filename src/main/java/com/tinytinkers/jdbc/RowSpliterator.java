@@ -0,0 +1,37 @@
+package com.tinytinkers.jdbc;
+
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+
+final class RowSpliterator<T> extends Spliterators.AbstractSpliterator<T> {
+
+    private final Cursor cursor;
+    private final RowMapper<T> mapper;
+
+    RowSpliterator(Cursor cursor, RowMapper<T> mapper) {
+        super(Long.MAX_VALUE, Spliterator.ORDERED);
+        this.cursor = cursor;
+        this.mapper = mapper;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super T> action) {
+        try {
+            if (!cursor.next()) {
+                cursor.close();
+                return false;
+            }
+            action.accept(cursor.map(mapper));
+            return true;
+        } catch (RuntimeException e) {
+            try {
+                cursor.close();
+            } catch (RuntimeException closeFailure) {
+                e.addSuppressed(closeFailure);
+            }
+            throw e;
+        }
+    }
+
+}
@@ -0,0 +1,115 @@
+package com.tinytinkers.jdbc;
+
+import com.tinytinkers.PreparedQuery;
+
+import javax.sql.DataSource;
+import java.util.concurrent.Flow;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+final class RowSubscription<T> implements Flow.Subscription, Runnable {
+
+    private final DataSource dataSource;
+    private final PreparedQuery query;
+    private final int fetchSize;
+    private final RowMapper<T> mapper;
+    private final Flow.Subscriber<? super T> subscriber;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition signalled = lock.newCondition();
+    private long demand;
+    private boolean cancelled;
+    private Throwable violation;
+
+    RowSubscription(DataSource dataSource, PreparedQuery query, int fetchSize, RowMapper<T> mapper,
+                    Flow.Subscriber<? super T> subscriber) {
+        this.dataSource = dataSource;
+        this.query = query;
+        this.fetchSize = fetchSize;
+        this.mapper = mapper;
+        this.subscriber = subscriber;
+    }
+
+    @Override
+    public void request(long n) {
+        lock.lock();
+        try {
+            if (n <= 0) {
+                violation = new IllegalArgumentException("Requested row count must be positive, got " + n);
+                cancelled = true;
+            } else {
+                demand = demand + n < 0 ? Long.MAX_VALUE : demand + n;
+            }
+            signalled.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void cancel() {
+        lock.lock();
+        try {
+            cancelled = true;
+            signalled.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void run() {
+        try {
+            boolean exhausted = false;
+            try (Cursor cursor = Cursor.open(dataSource, query, fetchSize)) {
+                while (awaitDemand()) {
+                    if (!cursor.next()) {
+                        exhausted = true;
+                        break;
+                    }
+                    subscriber.onNext(cursor.map(mapper));
+                }
+            }
+            if (exhausted) {
+                subscriber.onComplete();
+            } else if (violation != null) {
+                subscriber.onError(violation);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            subscriber.onError(e);
+        } catch (RuntimeException e) {
+            if (!isCancelled()) {
+                subscriber.onError(e);
+            }
+        }
+    }
+
+    private boolean awaitDemand() throws InterruptedException {
+        lock.lock();
+        try {
+            while (demand == 0 && !cancelled) {
+                signalled.await();
+            }
+            if (cancelled) {
+                return false;
+            }
+            if (demand != Long.MAX_VALUE) {
+                demand--;
+            }
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean isCancelled() {
+        lock.lock();
+        try {
+            return cancelled && violation == null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+}
@@ -0,0 +1,72 @@
+package com.tinytinkers.metrics;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free histogram with power-of-two buckets. Bucket {@code i} counts values in {@code [2^(i-1), 2^i)}, so
+ * percentiles are reported as the upper bound of the bucket they fall into.
+ */
+public final class Histogram {
+
+    private final LongAdder[] buckets = new LongAdder[Long.SIZE + 1];
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    public Histogram() {
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    public void record(long value) {
+        long clamped = Math.max(0, value);
+        buckets[Long.SIZE - Long.numberOfLeadingZeros(clamped)].increment();
+        count.increment();
+        sum.add(clamped);
+        max.accumulate(clamped);
+    }
+
+    public long count() {
+        return count.sum();
+    }
+
+    public long sum() {
+        return sum.sum();
+    }
+
+    public long max() {
+        return max.get();
+    }
+
+    public double mean() {
+        long samples = count();
+        return samples == 0 ? 0 : (double) sum() / samples;
+    }
+
+    public long valueAtPercentile(double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("Percentile must be between 0 and 100");
+        }
+        long[] snapshot = new long[buckets.length];
+        long total = 0;
+        for (int i = 0; i < buckets.length; i++) {
+            snapshot[i] = buckets[i].sum();
+            total += snapshot[i];
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(total * percentile / 100));
+        long seen = 0;
+        for (int i = 0; i < snapshot.length; i++) {
+            seen += snapshot[i];
+            if (seen >= rank) {
+                return Math.min(max(), i == 0 ? 0 : i == Long.SIZE ? Long.MAX_VALUE : (1L << i) - 1);
+            }
+        }
+        return max();
+    }
+
+}
@@ -0,0 +1,9 @@
+package com.tinytinkers.metrics;
+
+final class MetricsHook {
+
+    static volatile QueryMetrics installed;
+
+    private MetricsHook() { }
+
+}
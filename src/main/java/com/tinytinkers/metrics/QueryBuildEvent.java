@@ -0,0 +1,48 @@
+package com.tinytinkers.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.tinytinkers.QueryBuild")
+@Label("Query Build")
+@Category({"Tiny Tinkers", "SQL"})
+@Description("Rendering of a DynamicQueryBuilder into SQL")
+@StackTrace(false)
+public final class QueryBuildEvent extends Event {
+
+    @Label("Fingerprint")
+    @Description("Hash of the canonical query shape")
+    private String fingerprint;
+
+    @Label("Operation")
+    private String operation;
+
+    @Label("Condition Count")
+    private int conditionCount;
+
+    @Label("IN List Values")
+    @Description("Total number of values across all IN lists")
+    private int inListValues;
+
+    @Label("Largest IN List")
+    private int largestInList;
+
+    @Label("Rendered Length")
+    @DataAmount(DataAmount.BYTES)
+    private int renderedLength;
+
+    public void describe(QueryBuildSample sample) {
+        this.fingerprint = sample.fingerprint();
+        this.operation = sample.operation().getCode();
+        this.conditionCount = sample.conditionCount();
+        this.inListValues = sample.inListValues();
+        this.largestInList = sample.largestInList();
+        this.renderedLength = sample.renderedLength();
+    }
+
+}
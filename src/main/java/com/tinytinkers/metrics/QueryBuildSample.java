@@ -0,0 +1,13 @@
+package com.tinytinkers.metrics;
+
+import com.tinytinkers.enums.BuildOperation;
+
+public record QueryBuildSample(
+        String fingerprint,
+        BuildOperation operation,
+        long durationNanos,
+        int conditionCount,
+        int inListValues,
+        int largestInList,
+        int renderedLength
+) { }
@@ -0,0 +1,28 @@
+package com.tinytinkers.metrics;
+
+/**
+ * Receives a sample for every query build while installed. Samples are only computed when a hook is installed or the
+ * {@link QueryBuildEvent} is enabled in a running recording; otherwise a build pays for one volatile read.
+ * Implementations are called on the building thread and must be thread-safe.
+ */
+@FunctionalInterface
+public interface QueryMetrics {
+
+    void record(QueryBuildSample sample);
+
+    static void install(QueryMetrics metrics) {
+        if (metrics == null) {
+            throw new IllegalArgumentException("Metrics hook cannot be null");
+        }
+        MetricsHook.installed = metrics;
+    }
+
+    static void uninstall() {
+        MetricsHook.installed = null;
+    }
+
+    static QueryMetrics installed() {
+        return MetricsHook.installed;
+    }
+
+}
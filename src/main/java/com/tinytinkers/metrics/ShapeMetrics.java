@@ -0,0 +1,75 @@
+package com.tinytinkers.metrics;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-memory {@link QueryMetrics} keeping build counters and histograms per query fingerprint. The number of tracked
+ * shapes is bounded; builds of shapes beyond the bound are aggregated under {@link #OVERFLOW_SHAPE}.
+ */
+public final class ShapeMetrics implements QueryMetrics {
+
+    public static final String OVERFLOW_SHAPE = "overflow";
+
+    private final int maximumShapes;
+    private final ConcurrentHashMap<String, Shape> shapes = new ConcurrentHashMap<>();
+
+    public static final class Shape {
+        private final LongAdder builds = new LongAdder();
+        private final Histogram durationNanos = new Histogram();
+        private final Histogram renderedLength = new Histogram();
+        private final Histogram inListValues = new Histogram();
+
+        public long builds() {
+            return builds.sum();
+        }
+
+        public Histogram durationNanos() {
+            return durationNanos;
+        }
+
+        public Histogram renderedLength() {
+            return renderedLength;
+        }
+
+        public Histogram inListValues() {
+            return inListValues;
+        }
+    }
+
+    public ShapeMetrics(int maximumShapes) {
+        if (maximumShapes <= 0) {
+            throw new IllegalArgumentException("Maximum shapes must be greater than zero");
+        }
+        this.maximumShapes = maximumShapes;
+    }
+
+    @Override
+    public void record(QueryBuildSample sample) {
+        Shape shape = shapes.get(sample.fingerprint());
+        if (shape == null) {
+            String key = shapes.size() < maximumShapes ? sample.fingerprint() : OVERFLOW_SHAPE;
+            shape = shapes.computeIfAbsent(key, k -> new Shape());
+        }
+        shape.builds.increment();
+        shape.durationNanos.record(sample.durationNanos());
+        if (sample.renderedLength() >= 0) {
+            shape.renderedLength.record(sample.renderedLength());
+        }
+        shape.inListValues.record(sample.inListValues());
+    }
+
+    public Shape shape(String fingerprint) {
+        return shapes.get(fingerprint);
+    }
+
+    public Map<String, Shape> shapes() {
+        return Map.copyOf(shapes);
+    }
+
+    public void reset() {
+        shapes.clear();
+    }
+
+}
@@ -0,0 +1,47 @@
+package com.tinytinkers.shard;
+
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+
+final class MergingIterator<T> implements Iterator<T> {
+
+    private record Head<T>(T value, int source) { }
+
+    private final List<Iterator<T>> sources;
+    private final PriorityQueue<Head<T>> heads;
+
+    MergingIterator(List<Iterator<T>> sources, Comparator<? super T> comparator) {
+        Comparator<Head<T>> byValue = (a, b) -> comparator.compare(a.value(), b.value());
+        this.sources = sources;
+        this.heads = new PriorityQueue<>(Math.max(1, sources.size()), byValue.thenComparingInt(Head::source));
+        for (int i = 0; i < sources.size(); i++) {
+            advance(i);
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        return !heads.isEmpty();
+    }
+
+    @Override
+    public T next() {
+        Head<T> head = heads.poll();
+        if (head == null) {
+            throw new NoSuchElementException();
+        }
+        advance(head.source());
+        return head.value();
+    }
+
+    private void advance(int source) {
+        Iterator<T> iterator = sources.get(source);
+        if (iterator.hasNext()) {
+            heads.add(new Head<>(iterator.next(), source));
+        }
+    }
+
+}
@@ -0,0 +1,67 @@
+package com.tinytinkers.shard;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public final class ShardMap {
+
+    private final List<Map<String, String>> shards;
+
+    private ShardMap(List<Map<String, String>> shards) {
+        this.shards = shards;
+    }
+
+    public static ShardMap of(List<Map<String, String>> shards) {
+        if (shards == null || shards.isEmpty()) {
+            throw new IllegalArgumentException("Shards cannot be null or empty");
+        }
+        List<Map<String, String>> copy = new ArrayList<>(shards.size());
+        for (Map<String, String> tables : shards) {
+            if (tables == null || tables.isEmpty()) {
+                throw new IllegalArgumentException("Shard tables cannot be null or empty");
+            }
+            copy.add(Map.copyOf(tables));
+        }
+        return new ShardMap(List.copyOf(copy));
+    }
+
+    public static ShardMap suffixed(int shardCount, String... tables) {
+        if (tables == null) {
+            throw new IllegalArgumentException("Sharded tables cannot be null or empty");
+        }
+        int width = Math.max(2, String.valueOf(shardCount - 1).length());
+        return suffixed(shardCount, "_%0" + width + "d", List.of(tables));
+    }
+
+    public static ShardMap suffixed(int shardCount, String suffixFormat, List<String> tables) {
+        if (shardCount <= 0) {
+            throw new IllegalArgumentException("Shard count must be greater than zero");
+        }
+        if (suffixFormat == null || suffixFormat.isBlank()) {
+            throw new IllegalArgumentException("Suffix format cannot be null or blank");
+        }
+        if (tables == null || tables.isEmpty()) {
+            throw new IllegalArgumentException("Sharded tables cannot be null or empty");
+        }
+        List<Map<String, String>> shards = new ArrayList<>(shardCount);
+        for (int shard = 0; shard < shardCount; shard++) {
+            Map<String, String> physical = new LinkedHashMap<>();
+            for (String table : tables) {
+                physical.put(table, table + suffixFormat.formatted(shard));
+            }
+            shards.add(physical);
+        }
+        return of(shards);
+    }
+
+    public int size() {
+        return shards.size();
+    }
+
+    public Map<String, String> tables(int shard) {
+        return shards.get(shard);
+    }
+
+}
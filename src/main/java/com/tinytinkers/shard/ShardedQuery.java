@@ -0,0 +1,276 @@
+package com.tinytinkers.shard;
+
+import com.tinytinkers.DynamicQueryBuilder;
+import com.tinytinkers.ImmutableQueryBuilder;
+import com.tinytinkers.PreparedQuery;
+import com.tinytinkers.enums.Order;
+import com.tinytinkers.jdbc.QueryExecutor;
+import com.tinytinkers.jdbc.RowMapper;
+import com.tinytinkers.structures.Pair;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.OptionalInt;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Runs one logical query against every shard of a {@link ShardMap} in parallel and merges the results.
+ * <p>
+ * Each shard query reads the shard's physical tables and keeps the ORDER BY, with OFFSET folded into LIMIT. Shard
+ * results are merged with a k-way merge on the ORDER BY columns (NULLs sort last ascending and first descending), and
+ * the global OFFSET and LIMIT are applied to the merged rows. Without an ORDER BY, shards are concatenated in shard
+ * order. DISTINCT, GROUP BY and window totals are rejected, because evaluating them per shard would return duplicate
+ * rows and groups, and totals that count only one shard.
+ * <p>
+ * Every ORDER BY column must be in the select list, either as the same expression, by its alias or by its unqualified
+ * name, so its value can be read from each shard row. Merge keys are compared by their Java natural ordering: String
+ * keys merge by {@link String#compareTo}, which agrees with binary collations but not with case-insensitive or
+ * locale-aware ones, so such columns can come back out of order across shards.
+ */
+public final class ShardedQuery {
+
+    private record Keyed<T>(Object[] keys, T value) { }
+
+    private final List<PreparedQuery> shardQueries;
+    private final String[] sortColumns;
+    private final int[] sortPositions;
+    private final boolean[] descending;
+    private final OptionalInt limit;
+    private final OptionalInt offset;
+    private final boolean countQuery;
+
+    private ShardedQuery(ImmutableQueryBuilder query, ShardMap shards) {
+        List<PreparedQuery> queries = new ArrayList<>(shards.size());
+        for (int shard = 0; shard < shards.size(); shard++) {
+            queries.add(query.forShard(shards.tables(shard)).buildPrepared());
+        }
+        List<Pair<String, Order>> orderings = query.orderings();
+        this.shardQueries = List.copyOf(queries);
+        this.sortColumns = new String[orderings.size()];
+        this.sortPositions = new int[orderings.size()];
+        this.descending = new boolean[orderings.size()];
+        boolean byLabel = query.selectsAllColumns() || query.isCountQuery();
+        List<String> selected = query.selectedColumns();
+        for (int i = 0; i < orderings.size(); i++) {
+            String column = orderings.get(i).getFirst();
+            sortColumns[i] = column.substring(column.lastIndexOf('.') + 1);
+            sortPositions[i] = byLabel ? 0 : selectedPosition(selected, column);
+            descending[i] = orderings.get(i).getSecond() == Order.DESCENDING;
+        }
+        this.limit = query.limitValue();
+        this.offset = query.offsetValue();
+        this.countQuery = query.isCountQuery();
+    }
+
+    public static ShardedQuery of(DynamicQueryBuilder query, ShardMap shards) {
+        if (query == null) {
+            throw new IllegalArgumentException("Query cannot be null");
+        }
+        return of(query.toImmutable(), shards);
+    }
+
+    public static ShardedQuery of(ImmutableQueryBuilder query, ShardMap shards) {
+        if (query == null || shards == null) {
+            throw new IllegalArgumentException("Query and shard map cannot be null");
+        }
+        if (query.isDistinct()) {
+            throw new IllegalArgumentException("DISTINCT queries cannot be merged across shards");
+        }
+        if (!query.groupByColumns().isEmpty()) {
+            throw new IllegalArgumentException("GROUP BY queries cannot be merged across shards");
+        }
+        if (query.hasTotalCount()) {
+            throw new IllegalArgumentException("Window totals cannot be merged across shards");
+        }
+        return new ShardedQuery(query, shards);
+    }
+
+    public List<PreparedQuery> shardQueries() {
+        return shardQueries;
+    }
+
+    /**
+     * Returns the merged rows. Every shard query has been executed by the time this returns; rows are then pulled
+     * from the shard cursors as the stream is consumed, so it should be closed after use.
+     */
+    public <T> Stream<T> stream(QueryExecutor executor, RowMapper<T> mapper) {
+        if (executor == null || mapper == null) {
+            throw new IllegalArgumentException("Executor and row mapper cannot be null");
+        }
+        if (countQuery) {
+            throw new IllegalStateException("Count queries are aggregated with count()");
+        }
+        RowMapper<Keyed<T>> keyed = resultSet -> new Keyed<>(sortKeys(resultSet), mapper.map(resultSet));
+        List<Stream<Keyed<T>>> shardStreams = fanOut(query -> executor.stream(query, keyed));
+
+        List<Iterator<Keyed<T>>> iterators = new ArrayList<>(shardStreams.size());
+        for (Stream<Keyed<T>> shardStream : shardStreams) {
+            iterators.add(shardStream.iterator());
+        }
+        Iterator<Keyed<T>> merged = sortColumns.length == 0
+                ? iterators.stream().flatMap(iterator -> StreamSupport.stream(
+                        Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED), false)).iterator()
+                : new MergingIterator<>(iterators, comparator());
+
+        Stream<T> rows = StreamSupport.stream(Spliterators.spliteratorUnknownSize(merged, Spliterator.ORDERED), false)
+                .onClose(() -> closeAll(shardStreams))
+                .map(Keyed::value);
+        if (offset.isPresent()) {
+            rows = rows.skip(offset.getAsInt());
+        }
+        if (limit.isPresent()) {
+            rows = rows.limit(limit.getAsInt());
+        }
+        return rows;
+    }
+
+    public <T> List<T> list(QueryExecutor executor, RowMapper<T> mapper) {
+        try (Stream<T> rows = stream(executor, mapper)) {
+            return rows.toList();
+        }
+    }
+
+    public long count(QueryExecutor executor) {
+        if (executor == null) {
+            throw new IllegalArgumentException("Executor cannot be null");
+        }
+        if (!countQuery) {
+            throw new IllegalStateException("Only count queries can be aggregated");
+        }
+        long total = 0;
+        for (List<Long> counts : fanOut(query -> executor.list(query, resultSet -> resultSet.getLong(1)))) {
+            for (long count : counts) {
+                total += count;
+            }
+        }
+        return total;
+    }
+
+    private <R> List<R> fanOut(Function<PreparedQuery, R> task) {
+        List<Future<R>> futures = new ArrayList<>(shardQueries.size());
+        try (ExecutorService shards = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (PreparedQuery query : shardQueries) {
+                futures.add(shards.submit(() -> task.apply(query)));
+            }
+        }
+
+        List<R> results = new ArrayList<>(futures.size());
+        RuntimeException failure = null;
+        for (Future<R> future : futures) {
+            try {
+                results.add(future.get());
+            } catch (ExecutionException e) {
+                RuntimeException cause = e.getCause() instanceof RuntimeException runtime
+                        ? runtime : new IllegalStateException(e.getCause());
+                if (failure == null) {
+                    failure = cause;
+                } else {
+                    failure.addSuppressed(cause);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                failure = new IllegalStateException("Interrupted while waiting for shards", e);
+            }
+        }
+        if (failure != null) {
+            for (R result : results) {
+                if (result instanceof AutoCloseable closeable) {
+                    closeQuietly(closeable, failure);
+                }
+            }
+            throw failure;
+        }
+        return results;
+    }
+
+    private Object[] sortKeys(ResultSet resultSet) throws SQLException {
+        Object[] keys = new Object[sortColumns.length];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = sortPositions[i] > 0
+                    ? resultSet.getObject(sortPositions[i])
+                    : resultSet.getObject(sortColumns[i]);
+        }
+        return keys;
+    }
+
+    private static int selectedPosition(List<String> selected, String ordering) {
+        String unqualified = ordering.substring(ordering.lastIndexOf('.') + 1);
+        for (int i = 0; i < selected.size(); i++) {
+            String column = selected.get(i).strip();
+            int alias = column.toUpperCase(Locale.ROOT).lastIndexOf(" AS ");
+            String expression = alias >= 0 ? column.substring(0, alias).strip() : column;
+            String name = alias >= 0 ? column.substring(alias + 4).strip() : column.substring(column.lastIndexOf('.') + 1);
+            if (expression.equalsIgnoreCase(ordering) || name.equalsIgnoreCase(ordering)
+                || (alias < 0 && column.indexOf('.') < 0 && column.equalsIgnoreCase(unqualified))) {
+                return i + 1;
+            }
+        }
+        throw new IllegalArgumentException(
+                "ORDER BY column %s must be selected to merge shard results".formatted(ordering));
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> Comparator<Keyed<T>> comparator() {
+        return (a, b) -> {
+            for (int i = 0; i < sortColumns.length; i++) {
+                Object left = a.keys()[i];
+                Object right = b.keys()[i];
+                int compared;
+                if (left == right) {
+                    compared = 0;
+                } else if (left == null) {
+                    compared = 1;
+                } else if (right == null) {
+                    compared = -1;
+                } else {
+                    compared = ((Comparable<Object>) left).compareTo(right);
+                }
+                if (compared != 0) {
+                    return descending[i] ? -compared : compared;
+                }
+            }
+            return 0;
+        };
+    }
+
+    private static void closeAll(List<? extends AutoCloseable> resources) {
+        RuntimeException failure = null;
+        for (AutoCloseable resource : resources) {
+            try {
+                resource.close();
+            } catch (Exception e) {
+                RuntimeException runtime = e instanceof RuntimeException r ? r : new IllegalStateException(e);
+                if (failure == null) {
+                    failure = runtime;
+                } else {
+                    failure.addSuppressed(runtime);
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private static void closeQuietly(AutoCloseable resource, RuntimeException failure) {
+        try {
+            resource.close();
+        } catch (Exception e) {
+            failure.addSuppressed(e);
+        }
+    }
+
+}
@@ -0,0 +1,84 @@
+package com.tinytinkers.structures;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+public final class ColumnarTable {
+
+    private final int rowCount;
+    private final Map<String, Object> columns;
+
+    private ColumnarTable(int rowCount, Map<String, Object> columns) {
+        this.rowCount = rowCount;
+        this.columns = columns;
+    }
+
+    public static Builder builder(int rowCount) {
+        if (rowCount < 0) {
+            throw new IllegalArgumentException("Row count cannot be negative");
+        }
+        return new Builder(rowCount);
+    }
+
+    public int rowCount() {
+        return rowCount;
+    }
+
+    public Set<String> columnNames() {
+        return columns.keySet();
+    }
+
+    /**
+     * Returns the backing array of the column: an {@code int[]}, {@code long[]}, {@code double[]} or {@code Object[]},
+     * or {@code null} when there is no such column.
+     */
+    public Object column(String name) {
+        return columns.get(name);
+    }
+
+    public static final class Builder {
+
+        private final int rowCount;
+        private final Map<String, Object> columns = new LinkedHashMap<>();
+
+        private Builder(int rowCount) {
+            this.rowCount = rowCount;
+        }
+
+        public Builder ints(String name, int[] values) {
+            return add(name, values, values == null ? -1 : values.length);
+        }
+
+        public Builder longs(String name, long[] values) {
+            return add(name, values, values == null ? -1 : values.length);
+        }
+
+        public Builder doubles(String name, double[] values) {
+            return add(name, values, values == null ? -1 : values.length);
+        }
+
+        public Builder objects(String name, Object[] values) {
+            return add(name, values, values == null ? -1 : values.length);
+        }
+
+        public ColumnarTable build() {
+            return new ColumnarTable(rowCount, Map.copyOf(columns));
+        }
+
+        private Builder add(String name, Object values, int length) {
+            if (name == null || name.isBlank()) {
+                throw new IllegalArgumentException("Column name cannot be null or blank");
+            }
+            if (length != rowCount) {
+                throw new IllegalArgumentException("Column %s must have %d values".formatted(name, rowCount));
+            }
+            if (columns.putIfAbsent(name, values) != null) {
+                throw new IllegalArgumentException("Duplicate column " + name);
+            }
+            return this;
+        }
+
+    }
+
+}
@@ -0,0 +1,71 @@
+package com.tinytinkers.structures;
+
+import java.util.AbstractList;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+public final class PersistentList<E> extends AbstractList<E> implements RandomAccess {
+
+    private static final PersistentList<?> EMPTY = new PersistentList<>(null, null, 0);
+
+    private final PersistentList<E> previous;
+    private final E last;
+    private final int size;
+    private volatile Object[] elements;
+
+    private PersistentList(PersistentList<E> previous, E last, int size) {
+        this.previous = previous;
+        this.last = last;
+        this.size = size;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <E> PersistentList<E> empty() {
+        return (PersistentList<E>) EMPTY;
+    }
+
+    public PersistentList<E> append(E element) {
+        return new PersistentList<>(this, element, size + 1);
+    }
+
+    public PersistentList<E> appendAll(Iterable<? extends E> elements) {
+        PersistentList<E> list = this;
+        for (E element : elements) {
+            list = list.append(element);
+        }
+        return list;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E get(int index) {
+        Objects.checkIndex(index, size);
+        return index == size - 1 ? last : (E) elements()[index];
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    private Object[] elements() {
+        Object[] snapshot = elements;
+        if (snapshot == null) {
+            snapshot = new Object[size];
+            PersistentList<E> node = this;
+            int index = size - 1;
+            while (index >= 0) {
+                Object[] cached = node.elements;
+                if (cached != null) {
+                    System.arraycopy(cached, 0, snapshot, 0, index + 1);
+                    break;
+                }
+                snapshot[index--] = node.last;
+                node = node.previous;
+            }
+            elements = snapshot;
+        }
+        return snapshot;
+    }
+
+}
@@ -0,0 +1,102 @@
+package com.tinytinkers;
+
+import com.tinytinkers.enums.PlaceholderStyle;
+import com.tinytinkers.structures.ColumnarTable;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BulkInsertBuilderTest {
+
+    record User(int id, String displayName) { }
+
+    private static Map<String, Object> row(int id, String name) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("id", id);
+        row.put("name", name);
+        return row;
+    }
+
+    @Test
+    void testMultiRowLiteralInsertFromMaps() {
+        List<String> statements = BulkInsertBuilder.into("users")
+                .addRows(List.of(row(1, "Ada"), row(2, "Grace")))
+                .addRow(row(3, null))
+                .buildStatements();
+
+        assertEquals(List.of("INSERT INTO users (id,name) VALUES (1,'Ada'),(2,'Grace'),(3,NULL);"), statements);
+    }
+
+    @Test
+    void testChunksByRowsAndBytes() {
+        BulkInsertBuilder builder = BulkInsertBuilder.into("users", "id", "name")
+                .addRows(List.of(row(1, "Ada"), row(2, "Grace"), row(3, "Alan")));
+
+        assertEquals(List.of(
+                "INSERT INTO users (id,name) VALUES (1,'Ada'),(2,'Grace');",
+                "INSERT INTO users (id,name) VALUES (3,'Alan');"), builder.maxRowsPerStatement(2).buildStatements());
+
+        List<String> byBytes = builder.maxRowsPerStatement(1000).maxBytesPerStatement(50).buildStatements();
+        assertEquals(List.of(
+                "INSERT INTO users (id,name) VALUES (1,'Ada');",
+                "INSERT INTO users (id,name) VALUES (2,'Grace');",
+                "INSERT INTO users (id,name) VALUES (3,'Alan');"), byBytes);
+    }
+
+    @Test
+    void testPreparedNumberedPlaceholdersRestartPerStatement() {
+        List<PreparedQuery> statements = BulkInsertBuilder.into("users", "id", "name")
+                .maxBindsPerStatement(5)
+                .addRows(List.of(row(1, "Ada"), row(2, "Grace"), row(3, "Alan")))
+                .buildPrepared(PlaceholderStyle.NUMBERED);
+
+        assertEquals(2, statements.size());
+        assertEquals("INSERT INTO users (id,name) VALUES ($1,$2),($3,$4)", statements.get(0).sql());
+        assertEquals(List.of(1, "Ada", 2, "Grace"), statements.get(0).binds());
+        assertEquals("INSERT INTO users (id,name) VALUES ($1,$2)", statements.get(1).sql());
+        assertEquals(List.of(3, "Alan"), statements.get(1).binds());
+    }
+
+    @Test
+    void testRecordsAndColumnarTables() {
+        List<String> records = BulkInsertBuilder.into("users")
+                .addRecords(List.of(new User(1, "Ada"), new User(2, "Grace")))
+                .buildStatements();
+        assertEquals(List.of("INSERT INTO users (id,display_name) VALUES (1,'Ada'),(2,'Grace');"), records);
+
+        ColumnarTable table = ColumnarTable.builder(2)
+                .ints("id", new int[]{1, 2})
+                .doubles("score", new double[]{1.5, 2.25})
+                .build();
+        List<PreparedQuery> prepared = BulkInsertBuilder.into("scores")
+                .addColumns(table)
+                .buildPrepared();
+        assertEquals("INSERT INTO scores (id,score) VALUES (?,?),(?,?)", prepared.getFirst().sql());
+        assertEquals(List.of(1, 1.5, 2, 2.25), prepared.getFirst().binds());
+    }
+
+    @Test
+    void testUpsertClauses() {
+        BulkInsertBuilder builder = BulkInsertBuilder.into("users", "id", "name").addRow(row(1, "Ada"));
+
+        assertEquals("INSERT INTO users (id,name) VALUES (1,'Ada') ON CONFLICT (id) DO NOTHING;",
+                builder.onConflictDoNothing("id").buildStatements().getFirst());
+        assertEquals("INSERT INTO users (id,name) VALUES (1,'Ada') ON CONFLICT (id) DO UPDATE SET name = EXCLUDED.name;",
+                builder.onConflictUpdate(List.of("id"), "name").buildStatements().getFirst());
+        assertEquals("INSERT INTO users (id,name) VALUES (1,'Ada') ON DUPLICATE KEY UPDATE name = VALUES(name);",
+                builder.onDuplicateKeyUpdate("name").buildStatements().getFirst());
+    }
+
+    @Test
+    void testRejectsUnknownColumns() {
+        BulkInsertBuilder builder = BulkInsertBuilder.into("users", "id");
+
+        assertThrows(IllegalArgumentException.class, () -> builder.addRow(row(1, "Ada")));
+        assertThrows(IllegalStateException.class, () -> BulkInsertBuilder.into("users").buildStatements());
+    }
+
+}
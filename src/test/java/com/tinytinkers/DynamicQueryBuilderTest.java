@@ -1,12 +1,22 @@
 package com.tinytinkers;
 
 import com.tinytinkers.enums.JoinType;
+import com.tinytinkers.enums.KeysetStyle;
 import com.tinytinkers.enums.Order;
+import com.tinytinkers.enums.PlaceholderStyle;
 import org.junit.jupiter.api.Test;
 
+import java.io.StringWriter;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -229,4 +239,578 @@ class DynamicQueryBuilderTest {
         assertTrue(query.contains("HAVING SUM(amount) > 1000"));
     }
 
-}
\ No newline at end of file
+    @Test
+    void testBuildPreparedWithQuestionMarkPlaceholders() {
+        Map<String, Condition<?>> conditions = new LinkedHashMap<>();
+        conditions.put("age", Condition.between(15, 25));
+        conditions.put("role", Condition.in(List.of("admin", "owner")));
+        conditions.put("name", Condition.anyLike("John's"));
+
+        PreparedQuery query = DynamicQueryBuilder.of()
+                .selectFrom("users")
+                .where(conditions)
+                .orderBy("name", Order.ASCENDING)
+                .limit(10)
+                .buildPrepared();
+
+        assertTrue(query.sql().contains("age BETWEEN ? AND ?"));
+        assertTrue(query.sql().contains("role IN (?,?)"));
+        assertTrue(query.sql().contains("name LIKE ?"));
+        assertTrue(query.sql().endsWith(" ORDER BY name ASC LIMIT 10"));
+        assertEquals(5, query.binds().size());
+        assertTrue(query.binds().contains("%John's%"));
+    }
+
+    @Test
+    void testBuildPreparedWithNumberedPlaceholders() {
+        LocalDate date = LocalDate.of(2024, 3, 20);
+        PreparedQuery query = DynamicQueryBuilder.of()
+                .selectFrom("users")
+                .where(Map.of("created_at", Condition.between(date, date.plusDays(1))))
+                .orderBy("created_at", Order.DESCENDING)
+                .buildPrepared(PlaceholderStyle.NUMBERED);
+
+        assertEquals("SELECT * FROM users WHERE created_at BETWEEN $1 AND $2 ORDER BY created_at DESC", query.sql());
+        assertEquals(List.of(date, date.plusDays(1)), query.binds());
+    }
+
+    @Test
+    void testBuildPreparedKeepsLiteralPathUnchanged() {
+        DynamicQueryBuilder builder = DynamicQueryBuilder.of()
+                .selectSpecificColumnsFrom("users", "name")
+                .distinct()
+                .where(Map.of("id", Condition.equal(5)));
+
+        assertEquals("SELECT DISTINCT name FROM users WHERE id = 5;", builder.buildToString());
+        assertEquals("SELECT DISTINCT name FROM users WHERE id = ?", builder.buildPrepared().sql());
+        assertEquals(List.of(5), builder.buildPrepared().binds());
+    }
+
+    @Test
+    void testClauseOrderIsIndependentOfCallOrder() {
+        String query = DynamicQueryBuilder.of()
+                .limit(5)
+                .orderBy("name", Order.ASCENDING)
+                .where(Map.of("id", Condition.greaterThan(1)))
+                .join(JoinType.LEFT, "orders", "users.id = orders.user_id")
+                .distinct()
+                .selectSpecificColumnsFrom("users", "name")
+                .buildToString();
+        assertEquals("SELECT DISTINCT name FROM users LEFT JOIN orders ON users.id = orders.user_id "
+                     + "WHERE id > 1 ORDER BY name ASC LIMIT 5;", query);
+    }
+
+    @Test
+    void testRepeatedClausesAreCombined() {
+        String query = DynamicQueryBuilder.of()
+                .selectFrom("users")
+                .where(Map.of("id", Condition.greaterThan(1)))
+                .where(Map.of("age", Condition.lessThan(30)))
+                .orderBy("name", Order.ASCENDING)
+                .orderBy("id", Order.DESCENDING)
+                .buildToString();
+        assertEquals("SELECT * FROM users WHERE id > 1 AND age < 30 ORDER BY name ASC,id DESC;", query);
+    }
+
+    @Test
+    void testBuildPrettyStringLayout() {
+        String query = DynamicQueryBuilder.of()
+                .selectFrom("users")
+                .where(Map.of("id", Condition.equal(5)))
+                .where(Map.of("age", Condition.between(15, 25)))
+                .orderBy("name", Order.ASCENDING)
+                .buildPrettyString();
+        String rule = "\n--------------------------------------------------------";
+        assertEquals(rule + "\n SELECT * FROM users\n\t WHERE id = 5\n\t\t AND age BETWEEN 15 AND 25"
+                     + "\n\t ORDER BY name ASC;" + rule, query);
+    }
+
+    @Test
+    void testPrimitiveInConditions() {
+        String query = DynamicQueryBuilder.of()
+                .selectFrom("users")
+                .where(new LinkedHashMap<>(Map.of("id", Condition.inInts(1, 2, 3))))
+                .where(Map.of("account_id", Condition.inLongs(10L, 20L)))
+                .where(Map.of("role", Condition.inStrings("admin", "o'wner")))
+                .buildToString();
+        assertEquals("SELECT * FROM users WHERE id IN (1,2,3) AND account_id IN (10,20) AND role IN ('admin','o''wner');", query);
+
+        PreparedQuery prepared = DynamicQueryBuilder.of()
+                .selectFrom("users")
+                .where(Map.of("id", Condition.inLongs(10L, 20L)))
+                .buildPrepared();
+        assertEquals("SELECT * FROM users WHERE id IN (?,?)", prepared.sql());
+        assertEquals(List.of(10L, 20L), prepared.binds());
+    }
+
+    @Test
+    void testOversizedInListIsSplitIntoOrChunks() {
+        String query = DynamicQueryBuilder.of()
+                .selectFrom("users")
+                .where(Map.of("id", Condition.inInts(1, 2, 3, 4, 5)))
+                .inListPolicy(InListPolicy.orChunks(2))
+                .buildToString();
+        assertEquals("SELECT * FROM users WHERE (id IN (1,2) OR id IN (3,4) OR id IN (5));", query);
+    }
+
+    @Test
+    void testOversizedInListIsRenderedAsValuesJoin() {
+        String query = DynamicQueryBuilder.of()
+                .selectFrom("users")
+                .where(new LinkedHashMap<>(Map.of("id", Condition.in(List.of(1, 2, 3)))))
+                .where(Map.of("age", Condition.greaterThan(18)))
+                .inListPolicy(InListPolicy.valuesJoin(2))
+                .buildToString();
+        assertEquals("SELECT * FROM users WHERE id IN (SELECT value FROM (VALUES (1),(2),(3)) AS v(value))"
+                     + " AND age > 18;", query);
+    }
+
+    @Test
+    void testInListRewriteKeepsSelectedColumns() {
+        String query = DynamicQueryBuilder.of()
+                .selectFrom("settings")
+                .where(Map.of("value", Condition.inStrings("a", "b", "c")))
+                .inListPolicy(InListPolicy.valuesJoin(2))
+                .buildToString();
+        assertEquals("SELECT * FROM settings WHERE value IN (SELECT value FROM (VALUES ('a'),('b'),('c')) AS v(value));",
+                query);
+    }
+
+    @Test
+    void testOversizedInListIsBoundAsSingleUnnestArray() {
+        long[] ids = {1L, 2L, 3L};
+        PreparedQuery query = DynamicQueryBuilder.of()
+                .selectFrom("users")
+                .where(Map.of("id", Condition.inLongs(ids)))
+                .inListPolicy(InListPolicy.unnestJoin(2))
+                .buildPrepared();
+        assertEquals("SELECT * FROM users WHERE id IN (SELECT value FROM UNNEST(?) AS u(value))", query.sql());
+        assertSame(ids, query.binds().getFirst());
+    }
+
+    @Test
+    void testWriteToAppendable() {
+        DynamicQueryBuilder builder = DynamicQueryBuilder.of()
+                .selectFrom("users")
+                .where(Map.of("id", Condition.inInts(1, 2, 3)))
+                .limit(10);
+
+        StringWriter writer = builder.writeTo(new StringWriter());
+        assertEquals("SELECT * FROM users WHERE id IN (1,2,3) LIMIT 10;", writer.toString());
+        assertEquals(builder.buildToString(), writer.toString());
+    }
+
+    @Test
+    void testWriteToByteBuffer() {
+        DynamicQueryBuilder builder = DynamicQueryBuilder.of()
+                .selectFrom("users")
+                .where(Map.of("name", Condition.equal("Zoë")));
+
+        ByteBuffer buffer = builder.writeTo(ByteBuffer.allocate(64), StandardCharsets.UTF_8);
+        buffer.flip();
+        assertEquals("SELECT * FROM users WHERE name = 'Zoë';", StandardCharsets.UTF_8.decode(buffer).toString());
+
+        assertThrows(BufferOverflowException.class, () -> builder.writeTo(ByteBuffer.allocate(8), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testBuildPreparedBatch() {
+        PreparedBatch batch = DynamicQueryBuilder.of()
+                .selectSpecificColumnsFrom("orders", "id", "total")
+                .where(Map.of("status", Condition.equal("OPEN")))
+                .orderBy("id", Order.ASCENDING)
+                .buildPreparedBatch(List.of(
+                        Map.of("tenant_id", Condition.equal(1), "created_at", Condition.between(10, 20)),
+                        Map.of("created_at", Condition.between(30, 40), "tenant_id", Condition.equal(2))
+                ));
+
+        assertEquals("SELECT id,total FROM orders WHERE status = ? AND created_at BETWEEN ? AND ? AND tenant_id = ? "
+                     + "ORDER BY id ASC", batch.sql());
+        assertEquals(2, batch.rows().size());
+        assertArrayEquals(new Object[]{"OPEN", 10, 20, 1}, batch.rows().get(0));
+        assertArrayEquals(new Object[]{"OPEN", 30, 40, 2}, batch.rows().get(1));
+    }
+
+    @Test
+    void testBuildPreparedBatchRejectsMismatchedRows() {
+        DynamicQueryBuilder builder = DynamicQueryBuilder.of().selectFrom("orders");
+
+        assertThrows(IllegalArgumentException.class, () -> builder.buildPreparedBatch(List.of(
+                Map.of("tenant_id", Condition.equal(1)),
+                Map.of("tenant_id", Condition.greaterThan(2))
+        )));
+        assertThrows(IllegalArgumentException.class, () -> builder.buildPreparedBatch(List.of(
+                Map.of("id", Condition.in(List.of(1, 2))),
+                Map.of("id", Condition.in(List.of(1, 2, 3)))
+        )));
+        assertEquals("SELECT * FROM orders;", builder.buildToString());
+
+        DynamicQueryBuilder simplified = DynamicQueryBuilder.of().selectFrom("users").simplify();
+        assertThrows(IllegalArgumentException.class, () -> simplified.buildPreparedBatch(List.of(
+                Map.of("id", Condition.in(List.of(1, 2))),
+                Map.of("id", Condition.in(List.of(3, 3)))
+        )));
+        PreparedBatch batch = simplified.buildPreparedBatch(List.of(
+                Map.of("id", Condition.in(List.of(1, 2))),
+                Map.of("id", Condition.in(List.of(3, 4)))
+        ));
+        assertEquals("SELECT * FROM users WHERE id IN (?,?)", batch.sql());
+        assertArrayEquals(new Object[]{3, 4}, batch.rows().get(1));
+    }
+
+    @Test
+    void testKeysetPaginationWithRowValueComparison() {
+        PreparedQuery query = DynamicQueryBuilder.of()
+                .selectFrom("events")
+                .where(Map.of("tenant_id", Condition.equal(7)))
+                .after(List.of("created_at", "id"), List.of(20240320, 1500), Order.DESCENDING)
+                .limit(50)
+                .buildPrepared();
+
+        assertEquals("SELECT * FROM events WHERE tenant_id = ? AND (created_at,id) < (?,?) "
+                     + "ORDER BY created_at DESC,id DESC LIMIT 50", query.sql());
+        assertEquals(List.of(7, 20240320, 1500), query.binds());
+    }
+
+    @Test
+    void testKeysetPaginationWithExpandedComparison() {
+        String query = DynamicQueryBuilder.of()
+                .selectFrom("events")
+                .after(List.of("a", "b", "c"), List.of(1, 2, 3), Order.ASCENDING, KeysetStyle.EXPANDED)
+                .buildToString();
+
+        assertEquals("SELECT * FROM events WHERE (a > 1 OR (a = 1 AND b > 2) OR (a = 1 AND b = 2 AND c > 3)) "
+                     + "ORDER BY a ASC,b ASC,c ASC;", query);
+    }
+
+    @Test
+    void testKeysetPaginatorProducesNextPage() {
+        KeysetPaginator paginator = KeysetPaginator.of(
+                DynamicQueryBuilder.of().selectSpecificColumnsFrom("users", "id", "name"),
+                List.of("name", "id"),
+                Order.ASCENDING,
+                20
+        );
+
+        assertEquals("SELECT id,name FROM users ORDER BY name ASC,id ASC LIMIT 20;",
+                paginator.firstPage().buildToString());
+        assertEquals("SELECT id,name FROM users WHERE (name,id) > ('Smith',42) ORDER BY name ASC,id ASC LIMIT 20;",
+                paginator.nextPage("Smith", 42).buildToString());
+        assertThrows(IllegalArgumentException.class, () -> paginator.nextPage("Smith"));
+        assertThrows(IllegalArgumentException.class, () -> paginator.nextPage("Smith", null));
+        assertThrows(IllegalArgumentException.class, () -> KeysetPaginator.of(
+                DynamicQueryBuilder.of().selectFrom("users").orderBy("created_at", Order.DESCENDING),
+                List.of("id"), Order.ASCENDING, 20));
+    }
+
+    @Test
+    void testKeysetRejectsConflictingOrderingAndMovesCursor() {
+        DynamicQueryBuilder byName = DynamicQueryBuilder.of().selectFrom("users").orderBy("name", Order.ASCENDING);
+        assertThrows(IllegalArgumentException.class, () -> byName.after("id", 5, Order.ASCENDING));
+        assertEquals("SELECT * FROM users ORDER BY name ASC;", byName.buildToString());
+
+        String moved = DynamicQueryBuilder.of()
+                .selectFrom("users")
+                .orderBy("id", Order.ASCENDING)
+                .after("id", 5, Order.ASCENDING)
+                .after("id", 25, Order.ASCENDING)
+                .buildToString();
+        assertEquals("SELECT * FROM users WHERE id > 25 ORDER BY id ASC;", moved);
+
+        assertThrows(IllegalArgumentException.class, () -> DynamicQueryBuilder.of()
+                .selectFrom("users")
+                .after(List.of("a", "b"), Arrays.asList(1, null), Order.ASCENDING));
+    }
+
+    @Test
+    void testCanonicalPredicateOrder() {
+        Map<String, Condition<?>> forward = new LinkedHashMap<>();
+        forward.put("status", Condition.equal("OPEN"));
+        forward.put("age", Condition.greaterThan(18));
+        forward.put("name", Condition.beginLike("Jo"));
+        Map<String, Condition<?>> reversed = new LinkedHashMap<>();
+        reversed.put("name", Condition.beginLike("Jo"));
+        reversed.put("age", Condition.greaterThan(18));
+        reversed.put("status", Condition.equal("OPEN"));
+
+        String first = DynamicQueryBuilder.of().selectFrom("users").where(forward).canonical().buildToString();
+        String second = DynamicQueryBuilder.of().selectFrom("users").where(reversed).canonical().buildToString();
+
+        assertEquals("SELECT * FROM users WHERE age > 18 AND name LIKE 'Jo%' AND status = 'OPEN';", first);
+        assertEquals(first, second);
+
+        String mixed = DynamicQueryBuilder.of()
+                .selectFrom("users")
+                .after("id", 10, Order.ASCENDING)
+                .exists(DynamicQueryBuilder.of().selectFrom("orders").where(Map.of("total", Condition.greaterThan(5))))
+                .where(Filter.or(Filter.of("role", Condition.equal("admin")), Filter.of("vip", Condition.equal(1))))
+                .where(Map.of("age", Condition.greaterThan(18)))
+                .canonical()
+                .buildToString();
+        assertEquals("SELECT * FROM users WHERE age > 18 AND (role = 'admin' OR vip = 1)"
+                     + " AND EXISTS (SELECT * FROM orders WHERE total > 5) AND id > 10 ORDER BY id ASC;", mixed);
+    }
+
+    @Test
+    void testFingerprintIgnoresLiteralsAndPredicateOrder() {
+        String first = DynamicQueryBuilder.of()
+                .selectFrom("users")
+                .where(Map.of("id", Condition.in(List.of(1, 2, 3)), "name", Condition.equal("John")))
+                .limit(10)
+                .offset(0)
+                .fingerprint();
+        String second = DynamicQueryBuilder.of()
+                .selectFrom("users")
+                .where(Map.of("name", Condition.equal("Jane"), "id", Condition.in(List.of(4))))
+                .limit(20)
+                .offset(40)
+                .fingerprint();
+        String other = DynamicQueryBuilder.of()
+                .selectFrom("users")
+                .where(Map.of("name", Condition.beginLike("Jane")))
+                .fingerprint();
+
+        assertEquals(16, first.length());
+        assertEquals(first, second);
+        assertNotEquals(first, other);
+    }
+
+    @Test
+    void testFingerprintIgnoresInListSizeUnderRewritePolicies() {
+        for (InListPolicy policy : List.of(InListPolicy.orChunks(2), InListPolicy.valuesJoin(2), InListPolicy.unnestJoin(2))) {
+            String small = DynamicQueryBuilder.of()
+                    .selectFrom("users")
+                    .where(Map.of("id", Condition.in(List.of(1, 2, 3))))
+                    .inListPolicy(policy)
+                    .fingerprint();
+            String large = DynamicQueryBuilder.of()
+                    .selectFrom("users")
+                    .where(Map.of("id", Condition.in(List.of(1, 2, 3, 4, 5, 6, 7))))
+                    .inListPolicy(policy)
+                    .fingerprint();
+            assertEquals(small, large, policy.toString());
+        }
+    }
+
+    @Test
+    void testSimplifyMergesRangeBoundsIntoBetween() {
+        String query = DynamicQueryBuilder.of()
+                .selectFrom("users")
+                .where(Map.of("age", Condition.greaterThan(17)))
+                .where(Map.of("age", Condition.lessThan(66)))
+                .where(Map.of("age", Condition.lessThan(70)))
+                .simplify()
+                .buildToString();
+        assertEquals("SELECT * FROM users WHERE age > 17 AND age < 66;", query);
+
+        String mixed = DynamicQueryBuilder.of()
+                .selectFrom("users")
+                .where(Map.of("age", Condition.between(18, 65)))
+                .where(Map.of("age", Condition.lessThan(30)))
+                .simplify()
+                .buildToString();
+        assertEquals("SELECT * FROM users WHERE age >= 18 AND age < 30;", mixed);
+
+        LocalDate start = LocalDate.of(2024, 1, 1);
+        String dates = DynamicQueryBuilder.of()
+                .selectFrom("users")
+                .where(Map.of("created_at", Condition.between(start, start.plusDays(30))))
+                .where(Map.of("created_at", Condition.between(start.plusDays(10), start.plusDays(60))))
+                .simplify()
+                .buildToString();
+        assertEquals("SELECT * FROM users WHERE created_at BETWEEN '2024-01-11' AND '2024-01-31';", dates);
+    }
+
+    @Test
+    void testSimplifyRewritesInLists() {
+        String query = DynamicQueryBuilder.of()
+                .selectFrom("users")
+                .where(new LinkedHashMap<>(Map.of("id", Condition.in(List.of(7)))))
+                .where(Map.of("role", Condition.in(List.of("admin", "owner", "admin"))))
+                .where(Map.of("account_id", Condition.inInts(3, 1, 3, 2)))
+                .simplify()
+                .buildToString();
+        assertEquals("SELECT * FROM users WHERE id = 7 AND role IN ('admin','owner') AND account_id IN (1,2,3);", query);
+    }
+
+    @Test
+    void testSimplifyDetectsContradictions() {
+        DynamicQueryBuilder emptyIn = DynamicQueryBuilder.of()
+                .selectFrom("users")
+                .where(Map.of("id", Condition.in(List.<Integer>of())))
+                .simplify();
+        assertTrue(emptyIn.isAlwaysEmpty());
+        assertEquals("SELECT * FROM users WHERE 1 = 0;", emptyIn.buildToString());
+
+        DynamicQueryBuilder disjointRange = DynamicQueryBuilder.of()
+                .selectFrom("users")
+                .where(Map.of("age", Condition.greaterThan(30)))
+                .where(Map.of("age", Condition.lessThan(30)));
+        assertTrue(disjointRange.isAlwaysEmpty());
+
+        DynamicQueryBuilder equalOutsideIn = DynamicQueryBuilder.of()
+                .selectFrom("users")
+                .where(Map.of("id", Condition.equal(1)))
+                .where(Map.of("id", Condition.in(List.of(2L, 3L))));
+        assertTrue(equalOutsideIn.isAlwaysEmpty());
+
+        DynamicQueryBuilder satisfiable = DynamicQueryBuilder.of()
+                .selectFrom("users")
+                .where(Map.of("status", Condition.equal("B")))
+                .where(Map.of("status", Condition.in(List.of("B", "C"))))
+                .simplify();
+        assertFalse(satisfiable.isAlwaysEmpty());
+        assertEquals("SELECT * FROM users WHERE status = 'B';", satisfiable.buildToString());
+    }
+
+    @Test
+    void testSimplifyKeepsConditionsItCannotDecide() {
+        DynamicQueryBuilder fractional = DynamicQueryBuilder.of()
+                .selectFrom("items")
+                .where(Map.of("price", Condition.greaterThan(5)))
+                .where(Map.of("price", Condition.lessThan(6)))
+                .simplify();
+        assertFalse(fractional.isAlwaysEmpty());
+        assertEquals("SELECT * FROM items WHERE price > 5 AND price < 6;", fractional.buildToString());
+
+        DynamicQueryBuilder collated = DynamicQueryBuilder.of()
+                .selectFrom("users")
+                .where(Map.of("name", Condition.greaterThan("a")))
+                .where(Map.of("name", Condition.lessThan("B")))
+                .where(Map.of("status", Condition.equal("a")))
+                .where(Map.of("status", Condition.in(List.of("A", "B"))));
+        assertFalse(collated.isAlwaysEmpty());
+
+        String mixedTypes = DynamicQueryBuilder.of()
+                .selectFrom("items")
+                .where(Map.of("price", Condition.greaterThan(5)))
+                .where(Map.of("price", Condition.lessThan(9.5)))
+                .simplify()
+                .buildToString();
+        assertEquals("SELECT * FROM items WHERE price > 5 AND price < 9.5;", mixedTypes);
+    }
+
+    @Test
+    void testSimplifyIntersectsInListsAcrossIntegralTypes() {
+        String widened = DynamicQueryBuilder.of()
+                .selectFrom("users")
+                .where(Map.of("id", Condition.in(List.of(1, 2, 3))))
+                .where(Map.of("id", Condition.in(List.of(1L, 2L))))
+                .simplify()
+                .buildToString();
+        assertEquals("SELECT * FROM users WHERE id IN (1,2);", widened);
+
+        String arrays = DynamicQueryBuilder.of()
+                .selectFrom("users")
+                .where(Map.of("id", Condition.in(List.of(1, 2))))
+                .where(Map.of("id", Condition.inInts(1, 2)))
+                .simplify()
+                .buildToString();
+        assertEquals("SELECT * FROM users WHERE id IN (1,2) AND id IN (1,2);", arrays);
+    }
+
+    @Test
+    void testCountQueryDropsPaging() {
+        DynamicQueryBuilder page = DynamicQueryBuilder.of()
+                .selectSpecificColumnsFrom("users", "id", "name")
+                .where(Map.of("status", Condition.equal("A")))
+                .after("id", 100, Order.ASCENDING)
+                .limit(20)
+                .offset(40);
+
+        assertEquals("SELECT COUNT(*) FROM users WHERE status = 'A';", page.toCountQuery().buildToString());
+        assertEquals("SELECT id,name FROM users WHERE status = 'A' AND id > 100 ORDER BY id ASC LIMIT 20 OFFSET 40;",
+                page.buildToString());
+    }
+
+    @Test
+    void testCountQueryWrapsGroupedAndDistinctQueries() {
+        DynamicQueryBuilder grouped = DynamicQueryBuilder.of()
+                .selectSpecificColumnsFrom("orders", "customer_id")
+                .where(Map.of("total", Condition.greaterThan(10)))
+                .groupBy("customer_id")
+                .orderBy("customer_id", Order.DESCENDING)
+                .limit(5);
+        PreparedQuery count = grouped.toCountQuery().buildPrepared();
+        assertEquals("SELECT COUNT(*) FROM (SELECT customer_id FROM orders WHERE total > ? GROUP BY customer_id) AS count_query",
+                count.sql());
+        assertEquals(List.of(10), count.binds());
+
+        DynamicQueryBuilder distinct = DynamicQueryBuilder.of()
+                .selectSpecificColumnsFrom("users", "city")
+                .distinct();
+        assertEquals("SELECT COUNT(*) FROM (SELECT DISTINCT city FROM users) AS count_query;",
+                distinct.toCountQuery().buildToString());
+    }
+
+    @Test
+    void testWithTotalCountAddsWindowColumn() {
+        DynamicQueryBuilder all = DynamicQueryBuilder.of()
+                .selectFrom("users")
+                .orderBy("id", Order.ASCENDING)
+                .limit(10)
+                .withTotalCount();
+        assertEquals("SELECT users.*, COUNT(*) OVER() AS total_count FROM users ORDER BY id ASC LIMIT 10;",
+                all.buildToString());
+
+        DynamicQueryBuilder columns = DynamicQueryBuilder.of()
+                .selectSpecificColumnsFrom("users", "id")
+                .withTotalCount("matches");
+        assertEquals("SELECT id, COUNT(*) OVER() AS matches FROM users;", columns.buildToString());
+
+        DynamicQueryBuilder distinct = DynamicQueryBuilder.of()
+                .selectSpecificColumnsFrom("users", "city")
+                .distinct()
+                .orderBy("city", Order.ASCENDING)
+                .limit(10)
+                .withTotalCount();
+        assertEquals("SELECT page_query.*, COUNT(*) OVER() AS total_count FROM (SELECT DISTINCT city FROM users) AS page_query"
+                     + " ORDER BY city ASC LIMIT 10;", distinct.buildToString());
+    }
+
+    @Test
+    void testNestedSubqueriesRenderInline() {
+        DynamicQueryBuilder activeOrders = DynamicQueryBuilder.of()
+                .selectSpecificColumnsFrom("orders", "user_id")
+                .where(Map.of("status", Condition.equal("ACTIVE")));
+        PreparedQuery query = DynamicQueryBuilder.of()
+                .selectFrom("users")
+                .where(Map.of("country", Condition.equal("NL")))
+                .whereIn("id", activeOrders)
+                .exists(DynamicQueryBuilder.of().selectFrom("flags").where(Map.of("enabled", Condition.equal(1))))
+                .buildPrepared(PlaceholderStyle.NUMBERED);
+
+        assertEquals("SELECT * FROM users WHERE country = $1 AND id IN (SELECT user_id FROM orders WHERE status = $2)"
+                     + " AND EXISTS (SELECT * FROM flags WHERE enabled = $3)", query.sql());
+        assertEquals(List.of("NL", "ACTIVE", 1), query.binds());
+
+        activeOrders.where(Map.of("total", Condition.greaterThan(10)));
+        String derived = DynamicQueryBuilder.of()
+                .subquery("recent", DynamicQueryBuilder.of().selectFrom("orders").limit(5))
+                .selectSpecificColumnsFrom("users", "name")
+                .buildToString();
+        assertEquals("SELECT name FROM users, (SELECT * FROM orders LIMIT 5) recent;", derived);
+    }
+
+    @Test
+    void testCommonTablesRenderOnceAtTheTop() {
+        DynamicQueryBuilder query = DynamicQueryBuilder.of()
+                .with("big_spenders", DynamicQueryBuilder.of()
+                        .selectSpecificColumnsFrom("orders", "user_id")
+                        .groupBy("user_id")
+                        .having("SUM(total) > 1000"))
+                .selectFrom("users")
+                .whereIn("id", DynamicQueryBuilder.of().selectSpecificColumnsFrom("big_spenders", "user_id"))
+                .distinct();
+
+        assertEquals("WITH big_spenders AS (SELECT user_id FROM orders GROUP BY user_id HAVING SUM(total) > 1000)"
+                     + " SELECT DISTINCT * FROM users WHERE id IN (SELECT user_id FROM big_spenders);", query.buildToString());
+        assertEquals("WITH big_spenders AS (SELECT user_id FROM orders GROUP BY user_id HAVING SUM(total) > 1000)"
+                     + " SELECT COUNT(*) FROM (SELECT DISTINCT * FROM users WHERE id IN (SELECT user_id FROM big_spenders))"
+                     + " AS count_query;", query.toCountQuery().buildToString());
+        assertEquals(Set.of("users", "orders"), query.referencedTables());
+        assertThrows(IllegalArgumentException.class,
+                () -> query.with("big_spenders", DynamicQueryBuilder.of().selectFrom("orders")));
+    }
+
+}
@@ -0,0 +1,108 @@
+package com.tinytinkers;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FilterTest {
+
+    record Purchase(int id, String status, String region, Integer total) { }
+
+    @Test
+    void testOrOfEqualitiesCollapsesToIn() {
+        String query = DynamicQueryBuilder.of()
+                .selectFrom("orders")
+                .where(Filter.or(
+                        Filter.of("status", Condition.equal("A")),
+                        Filter.of("status", Condition.equal("B")),
+                        Filter.of("status", Condition.in(List.of("B", "C")))))
+                .buildToString();
+
+        assertEquals("SELECT * FROM orders WHERE status IN ('A','B','C');", query);
+    }
+
+    @Test
+    void testParenthesizesOnlyOrGroupsInsideConjunctions() {
+        String query = DynamicQueryBuilder.of()
+                .selectFrom("orders")
+                .where(Map.of("total", Condition.greaterThan(100)))
+                .where(Filter.and(
+                        Filter.of("region", Condition.equal("EU")),
+                        Filter.or(
+                                Filter.of("status", Condition.equal("A")),
+                                Filter.and(Filter.of("priority", Condition.equal(1)), Filter.of("vip", Condition.equal(1))))))
+                .buildToString();
+
+        assertEquals("SELECT * FROM orders WHERE total > 100 AND region = 'EU'"
+                     + " AND (status = 'A' OR priority = 1 AND vip = 1);", query);
+
+        String single = DynamicQueryBuilder.of()
+                .selectFrom("orders")
+                .where(Filter.or(Filter.of("status", Condition.equal("A")), Filter.of("region", Condition.equal("EU"))))
+                .buildToString();
+        assertEquals("SELECT * FROM orders WHERE status = 'A' OR region = 'EU';", single);
+    }
+
+    @Test
+    void testNotPushesDownToConditions() {
+        PreparedQuery query = DynamicQueryBuilder.of()
+                .selectFrom("orders")
+                .where(Filter.not(Filter.or(
+                        Filter.of("status", Condition.equal("A")),
+                        Filter.of("status", Condition.equal("B")),
+                        Filter.of("total", Condition.between(10, 20)),
+                        Filter.of("region", Condition.anyLike("north")))))
+                .buildPrepared();
+
+        assertEquals("SELECT * FROM orders WHERE status NOT IN (?,?) AND total NOT BETWEEN ? AND ?"
+                     + " AND region NOT LIKE ?", query.sql());
+        assertEquals(List.of("A", "B", 10, 20, "%north%"), query.binds());
+    }
+
+    @Test
+    void testInListPolicyAppliesInsideOrGroups() {
+        String query = DynamicQueryBuilder.of()
+                .selectFrom("orders")
+                .where(Map.of("region", Condition.in(List.of("EU", "US", "APAC"))))
+                .where(Filter.or(Filter.of("id", Condition.in(List.of(1, 2, 3))), Filter.of("status", Condition.equal("A"))))
+                .inListPolicy(InListPolicy.unnestJoin(2))
+                .buildToString();
+
+        assertEquals("SELECT * FROM orders WHERE region IN (SELECT value FROM UNNEST(ARRAY['EU','US','APAC']) AS u(value))"
+                     + " AND (id IN (SELECT value FROM UNNEST(ARRAY[1,2,3]) AS u(value)) OR status = 'A');", query);
+    }
+
+    @Test
+    void testIgnoresConditionsWithoutValues() {
+        String query = DynamicQueryBuilder.of()
+                .selectFrom("orders")
+                .where(Filter.or(Filter.of("status", Condition.beginLike(null)), Filter.of("id", Condition.equal(1))))
+                .buildToString();
+
+        assertEquals("SELECT * FROM orders WHERE id = 1;", query);
+        assertEquals("SELECT * FROM orders;", DynamicQueryBuilder.of()
+                .selectFrom("orders")
+                .where(Filter.and(Filter.of("status", Condition.beginLike(""))))
+                .buildToString());
+    }
+
+    @Test
+    void testInMemoryEvaluationMatchesSqlNullSemantics() {
+        List<Purchase> orders = List.of(
+                new Purchase(1, "A", "EU", 50),
+                new Purchase(2, "B", "US", 150),
+                new Purchase(3, "C", "EU", null),
+                new Purchase(4, "A", "US", 300));
+        DynamicQueryBuilder query = DynamicQueryBuilder.of()
+                .selectFrom("orders")
+                .where(Filter.or(
+                        Filter.and(Filter.of("region", Condition.equal("EU")), Filter.not(Filter.of("total", Condition.lessThan(100)))),
+                        Filter.of("status", Condition.equal("B"))));
+
+        assertEquals(List.of(orders.get(1)), InMemoryQuery.of(query).list(orders));
+    }
+
+}
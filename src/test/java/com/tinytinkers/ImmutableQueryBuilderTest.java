@@ -0,0 +1,71 @@
+package com.tinytinkers;
+
+import com.tinytinkers.enums.JoinType;
+import com.tinytinkers.enums.Order;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ImmutableQueryBuilderTest {
+
+    private static final ImmutableQueryBuilder BASE = ImmutableQueryBuilder.of()
+            .selectSpecificColumnsFrom("orders", "id", "total")
+            .join(JoinType.INNER, "customers", "orders.customer_id = customers.id")
+            .orderBy("id", Order.DESCENDING);
+
+    @Test
+    void testForksDoNotAffectParent() {
+        ImmutableQueryBuilder limited = BASE.limit(10);
+        ImmutableQueryBuilder filtered = BASE.where(Map.of("status", Condition.equal("OPEN")));
+
+        assertEquals("SELECT id,total FROM orders INNER JOIN customers ON orders.customer_id = customers.id "
+                     + "ORDER BY id DESC;", BASE.buildToString());
+        assertEquals("SELECT id,total FROM orders INNER JOIN customers ON orders.customer_id = customers.id "
+                     + "ORDER BY id DESC LIMIT 10;", limited.buildToString());
+        assertEquals("SELECT id,total FROM orders INNER JOIN customers ON orders.customer_id = customers.id "
+                     + "WHERE status = 'OPEN' ORDER BY id DESC;", filtered.buildToString());
+    }
+
+    @Test
+    void testMutableBuilderCopiesOnWriteAfterSharing() {
+        DynamicQueryBuilder builder = DynamicQueryBuilder.of().selectFrom("users");
+        ImmutableQueryBuilder snapshot = builder.toImmutable();
+        builder.where(Map.of("id", Condition.equal(1)));
+
+        DynamicQueryBuilder fork = snapshot.toBuilder().limit(5);
+
+        assertEquals("SELECT * FROM users WHERE id = 1;", builder.buildToString());
+        assertEquals("SELECT * FROM users;", snapshot.buildToString());
+        assertEquals("SELECT * FROM users LIMIT 5;", fork.buildToString());
+    }
+
+    @Test
+    void testConcurrentForksOfSharedBase() throws Exception {
+        int tasks = 2_000;
+        List<Future<String>> results = new ArrayList<>(tasks);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < tasks; i++) {
+                int tenant = i;
+                results.add(executor.submit(() -> BASE
+                        .where(Map.of("tenant_id", Condition.equal(tenant)))
+                        .limit(tenant % 50 + 1)
+                        .buildToString()));
+            }
+        }
+
+        for (int i = 0; i < tasks; i++) {
+            assertEquals("SELECT id,total FROM orders INNER JOIN customers ON orders.customer_id = customers.id "
+                         + "WHERE tenant_id = " + i + " ORDER BY id DESC LIMIT " + (i % 50 + 1) + ";",
+                    results.get(i).get());
+        }
+        assertFalse(BASE.buildToString().contains("WHERE"));
+    }
+
+}
@@ -0,0 +1,138 @@
+package com.tinytinkers;
+
+import com.tinytinkers.enums.JoinType;
+import com.tinytinkers.enums.Order;
+import com.tinytinkers.structures.ColumnarTable;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InMemoryQueryTest {
+
+    record User(int id, String name, String city, Integer age) { }
+
+    record Item(long id, double price) { }
+
+    private static final List<User> USERS = List.of(
+            new User(1, "Ada", "London", 36),
+            new User(2, "Grace", "New York", 45),
+            new User(3, "Alan", "London", null),
+            new User(4, "Edsger", "Austin", 72),
+            new User(5, "Barbara", "New York", 28));
+
+    @Test
+    void testFiltersOrdersAndPagesRecords() {
+        DynamicQueryBuilder query = DynamicQueryBuilder.of()
+                .selectFrom("users")
+                .where(Map.of("city", Condition.in(List.of("London", "New York")), "age", Condition.greaterThan(20)))
+                .orderBy("age", Order.DESCENDING)
+                .limit(2)
+                .offset(1);
+
+        assertEquals(List.of(USERS.get(0), USERS.get(4)), InMemoryQuery.of(query).list(USERS));
+        assertEquals(3, InMemoryQuery.of(query).count(USERS));
+    }
+
+    @Test
+    void testLikeBetweenAndKeysetConditions() {
+        InMemoryQuery like = InMemoryQuery.of(DynamicQueryBuilder.of()
+                .selectFrom("users")
+                .where(Map.of("name", Condition.beginLike("A"))));
+        assertEquals(List.of(USERS.get(0), USERS.get(2)), like.list(USERS));
+
+        InMemoryQuery between = InMemoryQuery.of(ImmutableQueryBuilder.of()
+                .selectFrom("users")
+                .where(Map.of("age", Condition.between(30, 50))));
+        assertEquals(List.of(USERS.get(0), USERS.get(1)), between.list(USERS));
+
+        InMemoryQuery page = InMemoryQuery.of(DynamicQueryBuilder.of()
+                .selectFrom("users")
+                .after("id", 3, Order.ASCENDING)
+                .limit(1));
+        assertEquals(List.of(USERS.get(3)), page.list(USERS));
+    }
+
+    @Test
+    void testRangeConditionsOnFractionalValues() {
+        List<Item> items = List.of(new Item(1, 5.5), new Item(2, 7.0), new Item(3, 9.5));
+        DynamicQueryBuilder wide = DynamicQueryBuilder.of()
+                .selectFrom("items")
+                .where(Map.of("price", Condition.greaterThan(5)))
+                .where(Map.of("price", Condition.lessThan(10)));
+        DynamicQueryBuilder narrow = DynamicQueryBuilder.of()
+                .selectFrom("items")
+                .where(Map.of("price", Condition.greaterThan(5)))
+                .where(Map.of("price", Condition.lessThan(6)));
+
+        assertEquals(items, InMemoryQuery.of(wide).list(items));
+        assertEquals(items, InMemoryQuery.of(wide.simplify()).list(items));
+        assertEquals(List.of(items.get(0)), InMemoryQuery.of(narrow).list(items));
+        assertEquals(List.of(items.get(0)), InMemoryQuery.of(narrow.simplify()).list(items));
+    }
+
+    @Test
+    void testNullsSortLastAscending() {
+        InMemoryQuery query = InMemoryQuery.of(DynamicQueryBuilder.of().selectFrom("users").orderBy("age", Order.ASCENDING));
+
+        assertEquals(List.of(5, 1, 2, 4, 3), query.list(USERS).stream().map(User::id).toList());
+    }
+
+    @Test
+    void testCountsByGroup() {
+        InMemoryQuery query = InMemoryQuery.of(DynamicQueryBuilder.of()
+                .countFrom("users")
+                .where(Map.of("id", Condition.inInts(1, 2, 3, 5)))
+                .groupBy("city"));
+
+        assertEquals(Map.of(List.of("London"), 2L, List.of("New York"), 2L), query.countByGroup(USERS));
+    }
+
+    @Test
+    void testColumnarTableMatchesRecordEvaluationInParallel() {
+        int rows = InMemoryQuery.PARALLEL_THRESHOLD * 4;
+        int[] ids = IntStream.range(0, rows).toArray();
+        long[] scores = IntStream.range(0, rows).mapToLong(i -> (i * 7919L) % 1000).toArray();
+        Object[] regions = IntStream.range(0, rows).mapToObj(i -> i % 3 == 0 ? "eu" : "us").toArray();
+        ColumnarTable table = ColumnarTable.builder(rows)
+                .ints("id", ids)
+                .longs("score", scores)
+                .objects("region", regions)
+                .build();
+
+        InMemoryQuery query = InMemoryQuery.of(DynamicQueryBuilder.of()
+                .selectFrom("events")
+                .where(Map.of("score", Condition.between(100L, 200L), "region", Condition.equal("eu")))
+                .orderBy("score", Order.DESCENDING)
+                .limit(50));
+
+        int[] selected = query.select(table);
+        int[] expected = IntStream.range(0, rows)
+                .filter(i -> scores[i] >= 100 && scores[i] <= 200 && i % 3 == 0)
+                .boxed()
+                .sorted((a, b) -> scores[a] != scores[b] ? Long.compare(scores[b], scores[a]) : Integer.compare(a, b))
+                .limit(50)
+                .mapToInt(Integer::intValue)
+                .toArray();
+        assertArrayEquals(expected, selected);
+        assertEquals(Arrays.stream(scores).filter(s -> s >= 100 && s <= 200).count(),
+                InMemoryQuery.of(DynamicQueryBuilder.of().countFrom("events")
+                        .where(Map.of("score", Condition.between(100L, 200L)))).count(table));
+    }
+
+    @Test
+    void testRejectsSqlOnlyClauses() {
+        assertThrows(IllegalArgumentException.class, () -> InMemoryQuery.of(DynamicQueryBuilder.of()
+                .selectFrom("users")
+                .join(JoinType.LEFT, "orders", "orders.user_id = users.id")));
+        assertThrows(IllegalArgumentException.class, () -> InMemoryQuery.of(DynamicQueryBuilder.of()
+                .countFrom("users")
+                .groupBy("city")
+                .having("COUNT(*) > 1")));
+    }
+
+}
@@ -0,0 +1,94 @@
+package com.tinytinkers;
+
+import com.tinytinkers.enums.JoinType;
+import com.tinytinkers.enums.LintRule;
+import com.tinytinkers.enums.LintSeverity;
+import com.tinytinkers.enums.Order;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QueryLinterTest {
+
+    private static List<LintRule> rules(List<LintWarning> warnings) {
+        return warnings.stream().map(LintWarning::rule).toList();
+    }
+
+    @Test
+    void testReportsPredictablySlowPatterns() {
+        DynamicQueryBuilder query = DynamicQueryBuilder.of()
+                .selectFrom("users")
+                .where(Map.of("name", Condition.anyLike("ada")))
+                .orderBy("id", Order.ASCENDING)
+                .offset(5000);
+
+        List<LintWarning> warnings = QueryLinter.of().analyze(query);
+
+        assertEquals(List.of(LintRule.SELECT_ALL, LintRule.LEADING_WILDCARD, LintRule.ORDER_BY_WITHOUT_LIMIT,
+                LintRule.LARGE_OFFSET), rules(warnings));
+        assertEquals("name LIKE '%ada%' cannot use an index on name", warnings.get(1).message());
+        assertEquals(LintSeverity.WARNING, warnings.get(1).severity());
+    }
+
+    @Test
+    void testCleanQueryHasNoWarnings() {
+        DynamicQueryBuilder query = DynamicQueryBuilder.of()
+                .selectSpecificColumnsFrom("users", "id", "name")
+                .where(Map.of("name", Condition.beginLike("ada")))
+                .orderBy("id", Order.ASCENDING)
+                .limit(20);
+
+        assertEquals(List.of(), QueryLinter.of().analyze(query));
+        assertSame(query, QueryLinter.of().strict().check(query));
+    }
+
+    @Test
+    void testLargeInListsUnlessAPolicyRewritesThem() {
+        List<Integer> ids = IntStream.range(0, 2000).boxed().toList();
+        DynamicQueryBuilder query = DynamicQueryBuilder.of()
+                .selectSpecificColumnsFrom("users", "id")
+                .where(Map.of("id", Condition.in(ids)));
+
+        assertEquals(List.of(LintRule.LARGE_IN_LIST), rules(QueryLinter.of().analyze(query)));
+        assertEquals(List.of(), QueryLinter.of().analyze(query.inListPolicy(InListPolicy.unnestJoin(100))));
+
+        DynamicQueryBuilder grouped = DynamicQueryBuilder.of()
+                .selectSpecificColumnsFrom("users", "id")
+                .where(Filter.or(Filter.of("id", Condition.in(ids)), Filter.of("status", Condition.equal("ADMIN"))));
+        assertEquals(List.of(LintRule.LARGE_IN_LIST), rules(QueryLinter.of().analyze(grouped)));
+        assertEquals(List.of(), QueryLinter.of().analyze(grouped.inListPolicy(InListPolicy.valuesJoin(500))));
+    }
+
+    @Test
+    void testJoinsWithoutDrivingTableFilter() {
+        DynamicQueryBuilder query = DynamicQueryBuilder.of()
+                .selectSpecificColumnsFrom("users", "users.id", "orders.total")
+                .join(JoinType.INNER, "orders", "orders.user_id = users.id")
+                .where(Map.of("orders.total", Condition.greaterThan(10)));
+
+        assertEquals(List.of(LintRule.UNFILTERED_JOIN), rules(QueryLinter.of().analyze(query)));
+        assertEquals(List.of(), QueryLinter.of().analyze(query.where(Map.of("users.status", Condition.equal("ACTIVE")))));
+    }
+
+    @Test
+    void testStrictModeFailsOnWarnings() {
+        DynamicQueryBuilder query = DynamicQueryBuilder.of()
+                .selectSpecificColumnsFrom("users", "id")
+                .where(Map.of("email", Condition.endLike("@example.com")))
+                .exists(DynamicQueryBuilder.of().selectFrom("orders").where(Map.of("orders.user_id", Condition.equal(1))));
+
+        assertSame(query, QueryLinter.of().check(query));
+        QueryLintException failure = assertThrows(QueryLintException.class, () -> QueryLinter.of().strict().check(query));
+        assertEquals(List.of(LintRule.LEADING_WILDCARD), rules(failure.warnings()));
+
+        assertSame(query, QueryLinter.of().strict().ignoring(LintRule.LEADING_WILDCARD).check(query));
+        assertThrows(QueryLintException.class, () -> QueryLinter.of()
+                .withSeverity(LintRule.LEADING_WILDCARD, LintSeverity.ERROR)
+                .check(query));
+    }
+
+}
@@ -0,0 +1,127 @@
+package com.tinytinkers;
+
+import com.tinytinkers.enums.Order;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QueryMultiplexerTest {
+
+    @Test
+    void testCombinesColumnQueriesWithPaddingAndTags() {
+        QueryMultiplexer multiplexer = QueryMultiplexer.of(List.of(
+                DynamicQueryBuilder.of()
+                        .selectSpecificColumnsFrom("users", "id", "name")
+                        .where(Map.of("status", Condition.equal("ACTIVE")))
+                        .orderBy("name", Order.ASCENDING)
+                        .limit(5),
+                DynamicQueryBuilder.of()
+                        .selectSpecificColumnsFrom("orders", "o.id", "total")
+                        .where(Map.of("total", Condition.greaterThan(100)))));
+
+        assertEquals(1, multiplexer.statements().size());
+        QueryMultiplexer.Statement statement = multiplexer.statements().getFirst();
+        assertEquals("(SELECT 0 AS branch_index,ROW_NUMBER() OVER (ORDER BY name ASC) AS branch_row,id,name,"
+                     + "NULL AS id_2,NULL AS total FROM users WHERE status = ? ORDER BY name ASC LIMIT 5)"
+                     + " UNION ALL (SELECT 1 AS branch_index,0 AS branch_row,NULL AS id,NULL AS name,o.id,total"
+                     + " FROM orders WHERE total > ?) ORDER BY branch_index,branch_row", statement.query().sql());
+        assertEquals(List.of("ACTIVE", 100), statement.query().binds());
+
+        Object[] row = {1, 0, null, null, 7, 250};
+        assertEquals(1, statement.queryIndex(row));
+        assertArrayEquals(new Object[]{7, 250}, statement.values(row));
+    }
+
+    @Test
+    void testSharesColumnsOnlyForTheSameSource() {
+        QueryMultiplexer multiplexer = QueryMultiplexer.of(List.of(
+                DynamicQueryBuilder.of().selectSpecificColumnsFrom("users", "id").where(Map.of("id", Condition.equal(1))),
+                DynamicQueryBuilder.of().selectSpecificColumnsFrom("sessions", "id", "user_id"),
+                DynamicQueryBuilder.of().selectSpecificColumnsFrom("users", "id").where(Map.of("id", Condition.equal(2)))));
+
+        QueryMultiplexer.Statement statement = multiplexer.statements().getFirst();
+        assertEquals("(SELECT 0 AS branch_index,0 AS branch_row,id,NULL AS id_2,NULL AS user_id FROM users WHERE id = ?)"
+                     + " UNION ALL (SELECT 1 AS branch_index,0 AS branch_row,NULL AS id,id,user_id FROM sessions)"
+                     + " UNION ALL (SELECT 2 AS branch_index,0 AS branch_row,id,NULL AS id_2,NULL AS user_id"
+                     + " FROM users WHERE id = ?) ORDER BY branch_index,branch_row", statement.query().sql());
+        assertArrayEquals(new Object[]{"9f2c", 1}, statement.values(new Object[]{1, 0, null, "9f2c", 1}));
+        assertArrayEquals(new Object[]{2}, statement.values(new Object[]{2, 0, 2, null, null}));
+    }
+
+    @Test
+    void testGroupsIncompatibleQueriesIntoFewestStatements() {
+        QueryMultiplexer multiplexer = QueryMultiplexer.of(List.of(
+                DynamicQueryBuilder.of().countFrom("users"),
+                DynamicQueryBuilder.of().selectFrom("users").limit(1),
+                DynamicQueryBuilder.of().countFrom("orders"),
+                DynamicQueryBuilder.of().selectFrom("users").where(Map.of("id", Condition.equal(3))),
+                DynamicQueryBuilder.of().selectSpecificColumnsFrom("users", "city").distinct().orderBy("city", Order.ASCENDING)));
+
+        List<QueryMultiplexer.Statement> statements = multiplexer.statements();
+        assertEquals(3, statements.size());
+        assertEquals("(SELECT 0 AS branch_index,0 AS branch_row,COUNT(*) FROM users)"
+                     + " UNION ALL (SELECT 2 AS branch_index,0 AS branch_row,COUNT(*) FROM orders)"
+                     + " ORDER BY branch_index,branch_row", statements.get(0).query().sql());
+        assertEquals("(SELECT 1 AS branch_index,0 AS branch_row,users.* FROM users LIMIT 1)"
+                     + " UNION ALL (SELECT 3 AS branch_index,0 AS branch_row,users.* FROM users WHERE id = ?)"
+                     + " ORDER BY branch_index,branch_row", statements.get(1).query().sql());
+        assertArrayEquals(new Object[]{3, "Ada"}, statements.get(1).values(new Object[]{3, 0, 3, "Ada"}));
+        assertFalse(statements.get(2).isTagged());
+        assertEquals("SELECT DISTINCT city FROM users ORDER BY city ASC", statements.get(2).query().sql());
+        assertEquals(4, statements.get(2).queryIndex(new Object[]{"London"}));
+    }
+
+    @Test
+    void testOrderingsTheRowWindowCannotRepeatRunAlone() {
+        QueryMultiplexer multiplexer = QueryMultiplexer.of(List.of(
+                DynamicQueryBuilder.of()
+                        .selectSpecificColumnsFrom("orders", "customer_id", "SUM(total) AS spent")
+                        .groupBy("customer_id")
+                        .orderBy("spent", Order.DESCENDING)
+                        .limit(3),
+                DynamicQueryBuilder.of()
+                        .selectSpecificColumnsFrom("orders", "region", "COUNT(*) AS orders")
+                        .groupBy("region")
+                        .orderBy("MAX(created_at)", Order.DESCENDING),
+                DynamicQueryBuilder.of()
+                        .selectSpecificColumnsFrom("orders", "region", "COUNT(*) AS orders")
+                        .groupBy("region")
+                        .orderBy("region", Order.ASCENDING),
+                DynamicQueryBuilder.of()
+                        .selectSpecificColumnsFrom("users", "id")
+                        .orderBy("id", Order.ASCENDING)));
+
+        List<QueryMultiplexer.Statement> statements = multiplexer.statements();
+        assertEquals(3, statements.size());
+        assertFalse(statements.get(0).isTagged());
+        assertEquals("SELECT customer_id,SUM(total) AS spent FROM orders GROUP BY customer_id ORDER BY spent DESC LIMIT 3",
+                statements.get(0).query().sql());
+        assertFalse(statements.get(1).isTagged());
+        assertEquals(1, statements.get(1).queryIndex(new Object[]{"EU", 4}));
+        assertTrue(statements.get(2).isTagged());
+        assertEquals("(SELECT 2 AS branch_index,ROW_NUMBER() OVER (ORDER BY region ASC) AS branch_row,region,"
+                     + "COUNT(*) AS orders,NULL AS id FROM orders GROUP BY region ORDER BY region ASC)"
+                     + " UNION ALL (SELECT 3 AS branch_index,ROW_NUMBER() OVER (ORDER BY id ASC) AS branch_row,"
+                     + "NULL AS region,NULL AS orders,id FROM users ORDER BY id ASC) ORDER BY branch_index,branch_row",
+                statements.get(2).query().sql());
+    }
+
+    @Test
+    void testSplitsByMaximumBranches() {
+        List<DynamicQueryBuilder> queries = List.of(
+                DynamicQueryBuilder.of().countFrom("a"),
+                DynamicQueryBuilder.of().countFrom("b"),
+                DynamicQueryBuilder.of().countFrom("c"));
+
+        List<QueryMultiplexer.Statement> statements = QueryMultiplexer.of(queries, 2).statements();
+
+        assertEquals(2, statements.size());
+        assertTrue(statements.get(0).isTagged());
+        assertEquals("SELECT COUNT(*) FROM c", statements.get(1).query().sql());
+        assertThrows(IllegalArgumentException.class, () -> QueryMultiplexer.of(queries, 0));
+    }
+
+}
@@ -0,0 +1,83 @@
+package com.tinytinkers;
+
+import com.tinytinkers.enums.Order;
+import com.tinytinkers.enums.PlaceholderStyle;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QueryTemplateCacheTest {
+
+    private static final QueryShape USERS_BY_NAME = QueryShape
+            .selectSpecificColumnsFrom("users", "id", "name")
+            .orderBy("name", Order.ASCENDING)
+            .limit(10);
+
+    @Test
+    void testRenderMatchesBuilderOutput() {
+        QueryTemplateCache cache = new QueryTemplateCache(8);
+        Map<String, Condition<?>> conditions = Map.of(
+                "age", Condition.between(15, 25),
+                "name", Condition.anyLike("John's")
+        );
+
+        String expected = DynamicQueryBuilder.of()
+                .selectSpecificColumnsFrom("users", "id", "name")
+                .where(new TreeMap<>(conditions))
+                .orderBy("name", Order.ASCENDING)
+                .limit(10)
+                .buildToString();
+
+        assertEquals(expected, cache.render(USERS_BY_NAME, conditions));
+        assertEquals(expected, cache.render(USERS_BY_NAME, conditions));
+        assertEquals(new QueryTemplateCache.Stats(1, 1, 0, 1), cache.stats());
+    }
+
+    @Test
+    void testPrepareReusesTemplateForDifferentValues() {
+        QueryTemplateCache cache = new QueryTemplateCache(8);
+
+        PreparedQuery first = cache.prepare(USERS_BY_NAME, Map.of("role", Condition.in(List.of("admin", "owner"))));
+        PreparedQuery second = cache.prepare(USERS_BY_NAME, Map.of("role", Condition.in(List.of("guest", "staff"))),
+                PlaceholderStyle.NUMBERED);
+
+        assertEquals("SELECT id,name FROM users WHERE role IN (?,?) ORDER BY name ASC LIMIT 10", first.sql());
+        assertEquals("SELECT id,name FROM users WHERE role IN ($1,$2) ORDER BY name ASC LIMIT 10", second.sql());
+        assertEquals(List.of("guest", "staff"), second.binds());
+        assertEquals(1, cache.stats().hits());
+        assertEquals(1, cache.stats().misses());
+    }
+
+    @Test
+    void testDifferentInListSizesUseSeparateTemplates() {
+        QueryTemplateCache cache = new QueryTemplateCache(8);
+
+        cache.prepare(USERS_BY_NAME, Map.of("id", Condition.in(List.of(1, 2))));
+        PreparedQuery query = cache.prepare(USERS_BY_NAME, Map.of("id", Condition.in(List.of(1, 2, 3))));
+
+        assertTrue(query.sql().contains("id IN (?,?,?)"));
+        assertEquals(2, cache.stats().misses());
+    }
+
+    @Test
+    void testLeastRecentlyUsedTemplateIsEvicted() {
+        QueryTemplateCache cache = new QueryTemplateCache(2);
+
+        cache.prepare(USERS_BY_NAME, Map.of("id", Condition.equal(1)));
+        cache.prepare(USERS_BY_NAME, Map.of("age", Condition.equal(1)));
+        cache.prepare(USERS_BY_NAME, Map.of("id", Condition.equal(2)));
+        cache.prepare(USERS_BY_NAME, Map.of("role", Condition.equal("admin")));
+        cache.prepare(USERS_BY_NAME, Map.of("id", Condition.equal(3)));
+
+        QueryTemplateCache.Stats stats = cache.stats();
+        assertEquals(2, stats.hits());
+        assertEquals(3, stats.misses());
+        assertEquals(1, stats.evictions());
+        assertEquals(2, stats.size());
+    }
+
+}
@@ -0,0 +1,51 @@
+package com.tinytinkers;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SanitizerTest {
+
+    private static final Pattern UNSAFE_INPUT_PATTERN = Pattern.compile(";.*");
+
+    @Test
+    void testMatchesRegexBasedSanitization() {
+        List<String> inputs = List.of(
+                "users",
+                "  users  ",
+                "users; DROP TABLE users;",
+                "John'; DROP TABLE users; --",
+                "first;\nsecond; third\r\nfourth",
+                "a;b\u2028c",
+                "O'Brien",
+                ";",
+                "   ",
+                "\u2003"
+        );
+        for (String input : inputs) {
+            String expected = input.isBlank() ? "" : UNSAFE_INPUT_PATTERN.matcher(input).replaceAll("").trim();
+            assertEquals(expected, Sanitizer.stripUnsafe(input), input);
+            assertEquals(expected.replace("'", "''"), Sanitizer.sanitize(input), input);
+        }
+    }
+
+    @Test
+    void testReturnsSameInstanceWhenNothingNeedsEscaping() {
+        String column = new String("created_at");
+        assertSame(column, Sanitizer.sanitize(column));
+        assertSame(column, Sanitizer.stripUnsafe(column));
+    }
+
+    @Test
+    void testIdentifierCacheReturnsSanitizedInstance() {
+        String first = Sanitizer.sanitizeIdentifier("orders; DROP TABLE orders;");
+        String second = Sanitizer.sanitizeIdentifier("orders; DROP TABLE orders;");
+        assertEquals("orders", first);
+        assertSame(first, second);
+        assertEquals("", Sanitizer.sanitizeIdentifier(null));
+    }
+
+}
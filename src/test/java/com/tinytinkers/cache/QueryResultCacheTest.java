@@ -0,0 +1,158 @@
+package com.tinytinkers.cache;
+
+import com.tinytinkers.Condition;
+import com.tinytinkers.DynamicQueryBuilder;
+import com.tinytinkers.constants.Operators;
+import com.tinytinkers.enums.JoinType;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QueryResultCacheTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private final QueryResultCache cache = new QueryResultCache(2, Duration.ofSeconds(30), clock::get);
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private static DynamicQueryBuilder usersWhere(Map<String, Condition<?>> conditions) {
+        return DynamicQueryBuilder.of().selectFrom("users").where(conditions);
+    }
+
+    private List<String> load(Object marker) {
+        loads.incrementAndGet();
+        return List.of(String.valueOf(marker));
+    }
+
+    @Test
+    void testEquivalentQueriesShareAnEntry() {
+        Map<String, Condition<?>> forward = new LinkedHashMap<>();
+        forward.put("status", Condition.equal("A"));
+        forward.put("age", Condition.greaterThan(18));
+        Map<String, Condition<?>> reversed = new LinkedHashMap<>();
+        reversed.put("age", Condition.greaterThan(18));
+        reversed.put("status", Condition.equal("A"));
+
+        assertEquals(List.of("first"), cache.get(usersWhere(forward), query -> load("first")));
+        assertEquals(List.of("first"), cache.get(usersWhere(reversed), query -> load("second")));
+        assertEquals(1, loads.get());
+        assertEquals(new QueryResultCache.Stats(1, 1, 0, 0, 0, 1), cache.stats());
+    }
+
+    @Test
+    void testArrayBindsAreKeyedByContent() {
+        cache.get(usersWhere(Map.of("token", new Condition<>(Operators.EQUALS, new byte[]{1, 2, 3}))), q -> load("first"));
+
+        assertEquals(List.of("first"),
+                cache.get(usersWhere(Map.of("token", new Condition<>(Operators.EQUALS, new byte[]{1, 2, 3}))), q -> load("second")));
+        assertEquals(List.of("third"),
+                cache.get(usersWhere(Map.of("token", new Condition<>(Operators.EQUALS, new byte[]{1, 2, 4}))), q -> load("third")));
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void testEntriesExpireAfterTtl() {
+        DynamicQueryBuilder query = usersWhere(Map.of("id", Condition.equal(1)));
+
+        cache.get(query, Duration.ofSeconds(5), q -> load(1));
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(4));
+        cache.get(query, q -> load(2));
+        assertEquals(1, loads.get());
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(2));
+        assertEquals(List.of("3"), cache.get(query, q -> load(3)));
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void testTableInvalidationDropsOnlyAffectedEntries() {
+        DynamicQueryBuilder joined = DynamicQueryBuilder.of()
+                .selectFrom("orders")
+                .join(JoinType.INNER, "customers", "orders.customer_id = customers.id");
+        DynamicQueryBuilder users = usersWhere(Map.of("id", Condition.equal(1)));
+
+        cache.get(joined, q -> load("orders"));
+        cache.get(users, q -> load("users"));
+
+        assertEquals(1, cache.invalidateTable("CUSTOMERS"));
+        assertEquals(0, cache.invalidateTable("customers"));
+        cache.get(users, q -> load("users again"));
+        cache.get(joined, q -> load("orders again"));
+
+        assertEquals(3, loads.get());
+        assertEquals(1, cache.stats().invalidations());
+    }
+
+    @Test
+    void testLeastRecentlyUsedEntryIsEvicted() {
+        DynamicQueryBuilder first = usersWhere(Map.of("id", Condition.equal(1)));
+        DynamicQueryBuilder second = usersWhere(Map.of("id", Condition.equal(2)));
+        DynamicQueryBuilder third = usersWhere(Map.of("id", Condition.equal(3)));
+
+        cache.get(first, q -> load(1));
+        cache.get(second, q -> load(2));
+        cache.get(first, q -> load(1));
+        cache.get(third, q -> load(3));
+        cache.get(first, q -> load(1));
+
+        assertEquals(3, loads.get());
+        assertEquals(1, cache.stats().evictions());
+        assertEquals(0, cache.invalidateTable("orders"));
+        assertEquals(2, cache.invalidateTable("users"));
+    }
+
+    @Test
+    void testConcurrentMissesShareOneLoad() throws Exception {
+        DynamicQueryBuilder query = usersWhere(Map.of("id", Condition.in(List.of(1, 2, 3))));
+        CountDownLatch release = new CountDownLatch(1);
+        int callers = 32;
+
+        List<Future<List<String>>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < callers; i++) {
+                results.add(executor.submit(() -> cache.get(query, q -> {
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        throw new IllegalStateException(e);
+                    }
+                    return load("shared");
+                })));
+            }
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (cache.stats().sharedLoads() < callers - 1 && System.nanoTime() < deadline) {
+                Thread.sleep(5);
+            }
+            release.countDown();
+            for (Future<List<String>> result : results) {
+                assertEquals(List.of("shared"), result.get(5, TimeUnit.SECONDS));
+            }
+        }
+        assertEquals(1, loads.get());
+        assertEquals(callers - 1, cache.stats().sharedLoads());
+    }
+
+    @Test
+    void testFailedLoadsAreNotCached() {
+        DynamicQueryBuilder query = usersWhere(Map.of("id", Condition.equal(1)));
+
+        assertThrows(IllegalStateException.class, () -> cache.get(query, q -> {
+            throw new IllegalStateException("connection refused");
+        }));
+        assertEquals(List.of("ok"), cache.get(query, q -> load("ok")));
+        assertEquals(1, cache.stats().size());
+    }
+
+}
@@ -0,0 +1,89 @@
+package com.tinytinkers.codec;
+
+import com.tinytinkers.Condition;
+import com.tinytinkers.DynamicQueryBuilder;
+import com.tinytinkers.PreparedQuery;
+import com.tinytinkers.enums.Dialect;
+import com.tinytinkers.enums.Order;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ValueCodecsTest {
+
+    record Money(long cents) implements Comparable<Money> {
+        @Override
+        public int compareTo(Money other) {
+            return Long.compare(cents, other.cents);
+        }
+    }
+
+    private static String literal(ValueCodecs codecs, Object value) throws IOException {
+        StringBuilder out = new StringBuilder();
+        codecs.appendLiteral(value, out);
+        return out.toString();
+    }
+
+    @Test
+    void testDefaultLiterals() throws IOException {
+        ValueCodecs codecs = ValueCodecs.defaults();
+        UUID id = UUID.fromString("123e4567-e89b-12d3-a456-426614174000");
+
+        assertEquals("12345678901234567890.50", literal(codecs, new BigDecimal("1.234567890123456789050E19")));
+        assertEquals("'123e4567-e89b-12d3-a456-426614174000'", literal(codecs, id));
+        assertEquals("'2024-03-01 12:30:00.000000+00:00'", literal(codecs, Instant.parse("2024-03-01T12:30:00Z")));
+        assertEquals("'DESCENDING'", literal(codecs, Order.DESCENDING));
+        assertEquals("X'00FF10'", literal(codecs, new byte[]{0, -1, 16}));
+        assertEquals("TRUE", literal(codecs, true));
+        assertEquals("'NaN'", literal(codecs, Double.NaN));
+        assertEquals("'O''Brien'", literal(codecs.with(StringBuilder.class, ValueCodec.quoted(Object::toString)),
+                new StringBuilder("O'Brien")));
+    }
+
+    @Test
+    void testDialectOverrides() throws IOException {
+        assertEquals("'\\x00FF'", literal(ValueCodecs.forDialect(Dialect.POSTGRESQL), new byte[]{0, -1}));
+        assertEquals("0x00FF", literal(ValueCodecs.forDialect(Dialect.SQL_SERVER), new byte[]{0, -1}));
+        assertEquals("1", literal(ValueCodecs.forDialect(Dialect.SQL_SERVER), true));
+        assertEquals("TRUE", literal(ValueCodecs.forDialect(Dialect.MYSQL), true));
+    }
+
+    @Test
+    void testBuilderUsesRegisteredCodecs() {
+        ValueCodecs codecs = ValueCodecs.forDialect(Dialect.SQL_SERVER)
+                .with(Money.class, ValueCodec.<Money>unquoted(money -> BigDecimal.valueOf(money.cents(), 2).toPlainString())
+                        .withBind(Money::cents));
+        DynamicQueryBuilder query = DynamicQueryBuilder.of()
+                .selectFrom("orders")
+                .where(Map.of("total", Condition.greaterThan(new Money(1999))))
+                .where(Map.of("paid", Condition.equal(true)))
+                .where(Map.of("ratio", Condition.lessThan(0.25)))
+                .codecs(codecs);
+
+        assertEquals("SELECT * FROM orders WHERE total > 19.99 AND paid = 1 AND ratio < 0.25;", query.buildToString());
+        PreparedQuery prepared = query.buildPrepared();
+        assertEquals(List.of(1999L, true, 0.25), prepared.binds());
+    }
+
+    @Test
+    void testBindEncoders() {
+        Instant instant = Instant.parse("2024-03-01T12:30:00Z");
+        PreparedQuery prepared = DynamicQueryBuilder.of()
+                .selectFrom("events")
+                .where(Map.of("kind", Condition.in(List.of(Order.ASCENDING, Order.DESCENDING))))
+                .where(Map.of("at", Condition.greaterThan(instant)))
+                .buildPrepared();
+
+        assertEquals(List.of("ASCENDING", "DESCENDING", OffsetDateTime.ofInstant(instant, ZoneOffset.UTC)), prepared.binds());
+    }
+
+}
@@ -0,0 +1,140 @@
+package com.tinytinkers.jdbc;
+
+import com.tinytinkers.Condition;
+import com.tinytinkers.DynamicQueryBuilder;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QueryExecutorTest {
+
+    private static final RowMapper<String> NAME = resultSet -> resultSet.getString("name");
+
+    private final StubDataSource stub = new StubDataSource(List.of("id", "name"),
+            IntStream.range(0, 100).mapToObj(i -> new Object[]{i, "user" + i}).toList());
+
+    private final DynamicQueryBuilder query = DynamicQueryBuilder.of()
+            .selectSpecificColumnsFrom("users", "id", "name")
+            .where(Map.of("status", Condition.equal("ACTIVE")));
+
+    @Test
+    void testStreamFetchesLazilyAndClosesResources() {
+        QueryExecutor executor = QueryExecutor.of(stub.dataSource()).withFetchSize(25);
+
+        try (Stream<String> names = executor.stream(query, NAME)) {
+            assertEquals(List.of("user0", "user1", "user2"), names.limit(3).toList());
+            assertEquals(3, stub.rowsFetched.get());
+            assertEquals(3, stub.openResources.get());
+        }
+
+        assertEquals(0, stub.openResources.get());
+        assertEquals(25, stub.fetchSize);
+        assertEquals(List.of("SELECT id,name FROM users WHERE status = ?"), stub.preparedSql());
+        assertEquals(Map.of(1, "ACTIVE"), stub.binds);
+    }
+
+    @Test
+    void testExhaustedStreamReleasesResourcesWithoutClose() {
+        Stream<String> names = QueryExecutor.of(stub.dataSource()).stream(query, NAME);
+
+        assertEquals(100, names.count());
+        assertEquals(0, stub.openResources.get());
+    }
+
+    @Test
+    void testListAsyncRunsOnVirtualThread() throws Exception {
+        List<Boolean> virtual = QueryExecutor.of(stub.dataSource())
+                .listAsync(query, resultSet -> Thread.currentThread().isVirtual())
+                .get(5, TimeUnit.SECONDS);
+
+        assertEquals(100, virtual.size());
+        assertTrue(virtual.stream().allMatch(Boolean::booleanValue));
+        assertEquals(0, stub.openResources.get());
+    }
+
+    @Test
+    void testPublisherHonoursDemandAndCancellation() throws Exception {
+        List<String> received = new ArrayList<>();
+        CountDownLatch twoRows = new CountDownLatch(2);
+        Flow.Subscription[] subscription = new Flow.Subscription[1];
+
+        QueryExecutor.of(stub.dataSource()).publish(query, NAME).subscribe(new Flow.Subscriber<>() {
+            @Override
+            public void onSubscribe(Flow.Subscription s) {
+                subscription[0] = s;
+                s.request(2);
+            }
+
+            @Override
+            public void onNext(String item) {
+                received.add(item);
+                twoRows.countDown();
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                fail(throwable);
+            }
+
+            @Override
+            public void onComplete() {
+                fail("Publisher completed before the rows were consumed");
+            }
+        });
+
+        assertTrue(twoRows.await(5, TimeUnit.SECONDS));
+        Thread.sleep(50);
+        assertEquals(2, stub.rowsFetched.get());
+        assertEquals(List.of("user0", "user1"), received);
+
+        subscription[0].cancel();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (stub.openResources.get() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(0, stub.openResources.get());
+    }
+
+    @Test
+    void testExecutionFailureClosesConnection() {
+        stub.failOnExecute = new SQLException("relation \"users\" does not exist");
+
+        QueryExecutionException failure = assertThrows(QueryExecutionException.class,
+                () -> QueryExecutor.of(stub.dataSource()).list(query, NAME));
+        assertEquals("relation \"users\" does not exist", failure.getCause().getMessage());
+        assertEquals(0, stub.openResources.get());
+    }
+
+    @Test
+    void testListMultiplexedDemultiplexesRowsPerQuery() {
+        StubDataSource stub = StubDataSource.routing(List.of("branch_index", "branch_row", "id", "name", "id_2"),
+                sql -> sql.startsWith("(")
+                        ? List.<Object[]>of(new Object[]{0, 1, 1, "user1", null}, new Object[]{0, 2, 2, "user2", null},
+                                            new Object[]{2, 0, null, null, 9})
+                        : List.<Object[]>of(new Object[]{42L}));
+        List<DynamicQueryBuilder> queries = List.of(
+                query,
+                DynamicQueryBuilder.of().selectSpecificColumnsFrom("users", "id", "name").withTotalCount(),
+                DynamicQueryBuilder.of().selectSpecificColumnsFrom("admins", "id"));
+
+        List<List<Object[]>> results = QueryExecutor.of(stub.dataSource()).listMultiplexed(queries);
+
+        assertEquals(2, stub.preparedSql().size());
+        assertEquals(3, results.size());
+        assertArrayEquals(new Object[]{2, "user2"}, results.get(0).get(1));
+        assertArrayEquals(new Object[]{42L}, results.get(1).getFirst());
+        assertArrayEquals(new Object[]{9}, results.get(2).getFirst());
+        assertEquals(0, stub.openResources());
+    }
+
+}
@@ -0,0 +1,66 @@
+package com.tinytinkers.jdbc;
+
+import com.tinytinkers.DynamicQueryBuilder;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RecordMapperTest {
+
+    record User(long id, String displayName, Integer age) { }
+
+    private final DynamicQueryBuilder query = DynamicQueryBuilder.of()
+            .selectSpecificColumnsFrom("users", "age", "u.id", "display_name", "created_at");
+
+    @Test
+    void testMapsColumnsByComponentName() {
+        StubDataSource stub = new StubDataSource(query.selectedColumns(), List.of(
+                new Object[]{31, 1L, "Ada", "2024-01-01"},
+                new Object[]{null, 2L, "Grace", "2024-01-02"}));
+
+        List<User> users = QueryExecutor.of(stub.dataSource()).list(query, RecordMapper.of(User.class, query));
+
+        assertEquals(List.of(new User(1, "Ada", 31), new User(2, "Grace", null)), users);
+    }
+
+    @Test
+    void testMapperIsCachedPerShapeAndType() {
+        RecordMapper<User> first = RecordMapper.of(User.class, query);
+
+        assertSame(first, RecordMapper.of(User.class, query.toImmutable()));
+        assertNotSame(first, RecordMapper.of(User.class, List.of("id", "display_name AS displayName", "age")));
+    }
+
+    @Test
+    void testRejectsUnmappableShapes() {
+        assertThrows(IllegalArgumentException.class,
+                () -> RecordMapper.of(User.class, List.of("id", "display_name")));
+        assertThrows(IllegalArgumentException.class,
+                () -> RecordMapper.of(User.class, DynamicQueryBuilder.of().selectFrom("users")));
+    }
+
+    @Test
+    void testRejectsAmbiguousColumns() {
+        IllegalArgumentException failure = assertThrows(IllegalArgumentException.class,
+                () -> RecordMapper.of(User.class, List.of("u.id", "o.id", "u.display_name", "u.age")));
+        assertEquals("Columns u.id and o.id both match component User.id; alias one of them", failure.getMessage());
+
+        assertEquals(User.class, RecordMapper.of(User.class, List.of("u.id", "o.id AS order_id", "u.display_name", "u.age"))
+                .type());
+    }
+
+    @Test
+    void testNullPrimitiveColumnFails() {
+        StubDataSource stub = new StubDataSource(List.of("id", "display_name", "age"),
+                List.<Object[]>of(new Object[]{null, "Ada", 31}));
+        RecordMapper<User> mapper = RecordMapper.of(User.class, stub.columns);
+
+        QueryExecutionException failure = assertThrows(QueryExecutionException.class,
+                () -> QueryExecutor.of(stub.dataSource()).list(query, mapper));
+        assertInstanceOf(SQLException.class, failure.getCause());
+    }
+
+}
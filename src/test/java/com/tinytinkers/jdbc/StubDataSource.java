@@ -0,0 +1,136 @@
+package com.tinytinkers.jdbc;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+public final class StubDataSource {
+
+    final List<String> columns;
+    final List<Object[]> rows;
+    private final Function<String, List<Object[]>> rowsBySql;
+    private final List<String> statements = new ArrayList<>();
+    final Map<Integer, Object> binds = new TreeMap<>();
+    final AtomicInteger rowsFetched = new AtomicInteger();
+    final AtomicInteger openResources = new AtomicInteger();
+    volatile int fetchSize;
+    volatile SQLException failOnExecute;
+
+    StubDataSource(List<String> columns, List<Object[]> rows) {
+        this(columns, rows, sql -> rows);
+    }
+
+    private StubDataSource(List<String> columns, List<Object[]> rows, Function<String, List<Object[]>> rowsBySql) {
+        this.columns = columns;
+        this.rows = rows;
+        this.rowsBySql = rowsBySql;
+    }
+
+    public static StubDataSource routing(List<String> columns, Function<String, List<Object[]>> rowsBySql) {
+        return new StubDataSource(columns, List.of(), rowsBySql);
+    }
+
+    public int openResources() {
+        return openResources.get();
+    }
+
+    public List<String> preparedSql() {
+        synchronized (statements) {
+            return List.copyOf(statements);
+        }
+    }
+
+    public DataSource dataSource() {
+        return proxy(DataSource.class, (proxy, method, args) -> switch (method.getName()) {
+            case "getConnection" -> connection();
+            default -> throw new UnsupportedOperationException(method.getName());
+        });
+    }
+
+    private Connection connection() {
+        openResources.incrementAndGet();
+        return proxy(Connection.class, (proxy, method, args) -> switch (method.getName()) {
+            case "prepareStatement" -> {
+                String sql = (String) args[0];
+                synchronized (statements) {
+                    statements.add(sql);
+                }
+                yield statement(sql);
+            }
+            case "close" -> close();
+            default -> throw new UnsupportedOperationException(method.getName());
+        });
+    }
+
+    private PreparedStatement statement(String sql) {
+        openResources.incrementAndGet();
+        return proxy(PreparedStatement.class, (proxy, method, args) -> switch (method.getName()) {
+            case "setFetchSize" -> {
+                fetchSize = (int) args[0];
+                yield null;
+            }
+            case "setObject" -> {
+                binds.put((Integer) args[0], args[1]);
+                yield null;
+            }
+            case "executeQuery" -> {
+                if (failOnExecute != null) {
+                    throw failOnExecute;
+                }
+                yield resultSet(rowsBySql.apply(sql));
+            }
+            case "close" -> close();
+            default -> throw new UnsupportedOperationException(method.getName());
+        });
+    }
+
+    private ResultSet resultSet(List<Object[]> rows) {
+        openResources.incrementAndGet();
+        int[] cursor = {-1};
+        return proxy(ResultSet.class, (proxy, method, args) -> switch (method.getName()) {
+            case "next" -> {
+                if (cursor[0] + 1 >= rows.size()) {
+                    yield false;
+                }
+                cursor[0]++;
+                rowsFetched.incrementAndGet();
+                yield true;
+            }
+            case "getObject" -> args[0] instanceof Integer index
+                    ? args.length == 1 ? rows.get(cursor[0])[index - 1] : ((Class<?>) args[1]).cast(rows.get(cursor[0])[index - 1])
+                    : rows.get(cursor[0])[columns.indexOf((String) args[0])];
+            case "getMetaData" -> proxy(ResultSetMetaData.class, (metaData, metaMethod, metaArgs) -> switch (metaMethod.getName()) {
+                case "getColumnCount" -> rows.isEmpty() ? columns.size() : rows.getFirst().length;
+                default -> throw new UnsupportedOperationException(metaMethod.getName());
+            });
+            case "getLong" -> args[0] instanceof Integer index
+                    ? ((Number) rows.get(cursor[0])[index - 1]).longValue()
+                    : ((Number) rows.get(cursor[0])[columns.indexOf((String) args[0])]).longValue();
+            case "getInt" -> ((Number) rows.get(cursor[0])[columns.indexOf((String) args[0])]).intValue();
+            case "getString" -> (String) rows.get(cursor[0])[columns.indexOf((String) args[0])];
+            case "close" -> close();
+            default -> throw new UnsupportedOperationException(method.getName());
+        });
+    }
+
+    private Object close() {
+        openResources.decrementAndGet();
+        return null;
+    }
+
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return type.cast(Proxy.newProxyInstance(StubDataSource.class.getClassLoader(), new Class<?>[]{type}, handler));
+    }
+
+}
@@ -0,0 +1,127 @@
+package com.tinytinkers.metrics;
+
+import com.tinytinkers.Condition;
+import com.tinytinkers.DynamicQueryBuilder;
+import com.tinytinkers.Filter;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QueryMetricsTest {
+
+    @AfterEach
+    void uninstall() {
+        QueryMetrics.uninstall();
+    }
+
+    private static DynamicQueryBuilder usersIn(List<Integer> ids) {
+        return DynamicQueryBuilder.of()
+                .selectFrom("users")
+                .where(Map.of("id", Condition.in(ids), "status", Condition.equal("A")));
+    }
+
+    @Test
+    void testSamplesAreRecordedPerShape() {
+        List<QueryBuildSample> samples = new ArrayList<>();
+        QueryMetrics.install(samples::add);
+
+        String sql = usersIn(List.of(1, 2, 3)).buildToString();
+        usersIn(List.of(4, 5)).buildPrepared();
+
+        assertEquals(2, samples.size());
+        QueryBuildSample first = samples.getFirst();
+        assertEquals(samples.get(1).fingerprint(), first.fingerprint());
+        assertEquals("string", first.operation().getCode());
+        assertEquals(2, first.conditionCount());
+        assertEquals(3, first.inListValues());
+        assertEquals(3, first.largestInList());
+        assertEquals(sql.length(), first.renderedLength());
+        assertTrue(first.durationNanos() > 0);
+    }
+
+    @Test
+    void testSamplesCountConditionsInsideFilters() {
+        List<QueryBuildSample> samples = new ArrayList<>();
+        QueryMetrics.install(samples::add);
+
+        DynamicQueryBuilder.of()
+                .selectFrom("users")
+                .where(Filter.or(
+                        Filter.of("id", Condition.in(List.of(1, 2, 3, 4))),
+                        Filter.and(Filter.of("status", Condition.equal("A")),
+                                Filter.of("role", Condition.in(List.of("x", "y"))))))
+                .buildToString();
+
+        QueryBuildSample sample = samples.getFirst();
+        assertEquals(3, sample.conditionCount());
+        assertEquals(6, sample.inListValues());
+        assertEquals(4, sample.largestInList());
+    }
+
+    @Test
+    void testShapeMetricsAggregatesBuilds() {
+        ShapeMetrics metrics = new ShapeMetrics(1);
+        QueryMetrics.install(metrics);
+
+        DynamicQueryBuilder query = usersIn(List.of(1, 2, 3, 4));
+        for (int i = 0; i < 10; i++) {
+            query.buildToString();
+        }
+        DynamicQueryBuilder.of().selectFrom("orders").buildToString();
+
+        ShapeMetrics.Shape shape = metrics.shape(query.fingerprint());
+        assertEquals(10, shape.builds());
+        assertEquals(4, shape.inListValues().max());
+        assertEquals(query.buildToString().length(), shape.renderedLength().max());
+        assertEquals(1, metrics.shape(ShapeMetrics.OVERFLOW_SHAPE).builds());
+    }
+
+    @Test
+    void testHistogramPercentiles() {
+        Histogram histogram = new Histogram();
+        for (int i = 1; i <= 100; i++) {
+            histogram.record(i);
+        }
+
+        assertEquals(100, histogram.count());
+        assertEquals(50.5, histogram.mean());
+        assertEquals(63, histogram.valueAtPercentile(50));
+        assertEquals(100, histogram.valueAtPercentile(99));
+        assertEquals(0, new Histogram().valueAtPercentile(50));
+    }
+
+    @Test
+    void testFlightRecorderEventsAreEmitted() throws Exception {
+        Path file = Files.createTempFile("query-build", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(QueryBuildEvent.class).withThreshold(Duration.ZERO);
+            recording.start();
+            usersIn(List.of(7, 8)).buildPrepared();
+            recording.stop();
+            recording.dump(file);
+
+            List<RecordedEvent> events = RecordingFile.readAllEvents(file).stream()
+                    .filter(event -> event.getEventType().getName().equals("com.tinytinkers.QueryBuild"))
+                    .toList();
+            assertEquals(1, events.size());
+            RecordedEvent event = events.getFirst();
+            assertEquals("prepared", event.getString("operation"));
+            assertEquals(2, event.getInt("largestInList"));
+            assertEquals(usersIn(List.of(1)).fingerprint(), event.getString("fingerprint"));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+}
@@ -0,0 +1,137 @@
+package com.tinytinkers.shard;
+
+import com.tinytinkers.Condition;
+import com.tinytinkers.DynamicQueryBuilder;
+import com.tinytinkers.enums.JoinType;
+import com.tinytinkers.enums.Order;
+import com.tinytinkers.jdbc.QueryExecutor;
+import com.tinytinkers.jdbc.StubDataSource;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ShardedQueryTest {
+
+    private static final ShardMap SHARDS = ShardMap.suffixed(3, "events");
+
+    private static List<Object[]> shardRows(String sql) {
+        int shard = Integer.parseInt(sql.substring(sql.indexOf("events_") + 7, sql.indexOf("events_") + 9));
+        List<Object[]> rows = new ArrayList<>();
+        for (int id = 30 - shard; id > 0; id -= 3) {
+            rows.add(new Object[]{id, "shard" + shard});
+        }
+        return rows;
+    }
+
+    @Test
+    void testShardQueriesRewriteTablesAndPushDownLimit() {
+        DynamicQueryBuilder query = DynamicQueryBuilder.of()
+                .selectSpecificColumnsFrom("events", "id", "kind")
+                .join(JoinType.INNER, "users", "events.user_id = users.id")
+                .where(Map.of("kind", Condition.equal("click")))
+                .orderBy("events.id", Order.DESCENDING)
+                .limit(5)
+                .offset(10);
+
+        ShardedQuery sharded = ShardedQuery.of(query, ShardMap.suffixed(64, "events", "users"));
+
+        assertEquals(64, sharded.shardQueries().size());
+        assertEquals("SELECT id,kind FROM events_63 AS events INNER JOIN users_63 AS users ON events.user_id = users.id "
+                     + "WHERE kind = ? ORDER BY events.id DESC LIMIT 15", sharded.shardQueries().get(63).sql());
+        assertEquals(List.of("click"), sharded.shardQueries().get(63).binds());
+    }
+
+    @Test
+    void testMergeHonoursOrderLimitAndOffset() {
+        StubDataSource stub = StubDataSource.routing(List.of("id", "kind"), ShardedQueryTest::shardRows);
+        DynamicQueryBuilder query = DynamicQueryBuilder.of()
+                .selectSpecificColumnsFrom("events", "id", "kind")
+                .orderBy("id", Order.DESCENDING)
+                .limit(4)
+                .offset(2);
+
+        List<Integer> ids = ShardedQuery.of(query, SHARDS)
+                .list(QueryExecutor.of(stub.dataSource()), resultSet -> resultSet.getInt("id"));
+
+        assertEquals(List.of(28, 27, 26, 25), ids);
+        assertEquals(3, stub.preparedSql().size());
+        assertEquals(0, stub.openResources());
+    }
+
+    @Test
+    void testMergeReadsQualifiedAndAliasedSortColumnsByPosition() {
+        StubDataSource stub = StubDataSource.routing(List.of("event_id", "kind"), ShardedQueryTest::shardRows);
+        DynamicQueryBuilder query = DynamicQueryBuilder.of()
+                .selectSpecificColumnsFrom("events", "events.id AS event_id", "kind")
+                .orderBy("events.id", Order.DESCENDING)
+                .limit(3);
+
+        List<Integer> ids = ShardedQuery.of(query, SHARDS)
+                .list(QueryExecutor.of(stub.dataSource()), resultSet -> resultSet.getInt("event_id"));
+
+        assertEquals(List.of(30, 29, 28), ids);
+        assertThrows(IllegalArgumentException.class, () -> ShardedQuery.of(DynamicQueryBuilder.of()
+                .selectSpecificColumnsFrom("events", "kind")
+                .orderBy("created_at", Order.ASCENDING), SHARDS));
+    }
+
+    @Test
+    void testRejectsDistinctQueries() {
+        DynamicQueryBuilder query = DynamicQueryBuilder.of().selectSpecificColumnsFrom("events", "kind").distinct();
+
+        assertThrows(IllegalArgumentException.class, () -> ShardedQuery.of(query, SHARDS));
+    }
+
+    @Test
+    void testRejectsGroupedQueries() {
+        DynamicQueryBuilder grouped = DynamicQueryBuilder.of().selectSpecificColumnsFrom("events", "kind").groupBy("kind");
+        DynamicQueryBuilder groupedCount = DynamicQueryBuilder.of().countFrom("events").groupBy("kind");
+
+        assertThrows(IllegalArgumentException.class, () -> ShardedQuery.of(grouped, SHARDS));
+        assertThrows(IllegalArgumentException.class, () -> ShardedQuery.of(groupedCount, SHARDS));
+    }
+
+    @Test
+    void testRejectsWindowTotals() {
+        DynamicQueryBuilder query = DynamicQueryBuilder.of()
+                .selectSpecificColumnsFrom("events", "id", "kind")
+                .orderBy("id", Order.ASCENDING)
+                .limit(10)
+                .withTotalCount();
+
+        assertThrows(IllegalArgumentException.class, () -> ShardedQuery.of(query, SHARDS));
+    }
+
+    @Test
+    void testUnorderedShardsAreConcatenated() {
+        StubDataSource stub = StubDataSource.routing(List.of("id", "kind"), ShardedQueryTest::shardRows);
+        DynamicQueryBuilder query = DynamicQueryBuilder.of().selectSpecificColumnsFrom("events", "id", "kind");
+
+        List<Integer> ids = ShardedQuery.of(query, SHARDS)
+                .list(QueryExecutor.of(stub.dataSource()), resultSet -> resultSet.getInt("id"));
+
+        assertEquals(30, ids.size());
+        assertEquals(List.of(30, 27), ids.subList(0, 2));
+        assertEquals(List.of(29, 26), ids.subList(10, 12));
+    }
+
+    @Test
+    void testCountsAreAggregated() {
+        StubDataSource stub = StubDataSource.routing(List.of("count"),
+                sql -> List.<Object[]>of(new Object[]{sql.contains("events_01") ? 5L : 10L}));
+        DynamicQueryBuilder query = DynamicQueryBuilder.of()
+                .countFrom("events")
+                .where(Map.of("kind", Condition.equal("click")));
+
+        ShardedQuery sharded = ShardedQuery.of(query, SHARDS);
+
+        assertEquals(25, sharded.count(QueryExecutor.of(stub.dataSource())));
+        assertThrows(IllegalStateException.class,
+                () -> sharded.list(QueryExecutor.of(stub.dataSource()), resultSet -> resultSet.getLong(1)));
+    }
+
+}